@@ -0,0 +1,67 @@
+package nhanle.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import nhanle.entity.Category;
+import nhanle.entity.Product;
+import nhanle.model.ProductModel;
+
+// Entity -> ProductModel: setter viết tay (convertToModel) so với BeanUtils.copyProperties (reflection)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMappingBenchmark {
+
+	private ProductApiController controller;
+	private Product product;
+
+	@Setup
+	public void setUp() {
+		controller = new ProductApiController();
+		Category category = new Category();
+		category.setCategoryId(7L);
+		category.setCategoryName("Điện thoại");
+		product = new Product();
+		product.setProductId(42L);
+		product.setProductName("Điện thoại thông minh 128GB");
+		product.setDescription("Màn hình 6.1 inch, pin 4000mAh, bảo hành 12 tháng");
+		product.setPrice(new BigDecimal("12990000.00"));
+		product.setQuantity(25);
+		product.setImage("cas/ab/cd/abcd.jpg");
+		product.setStatus(true);
+		product.setCategory(category);
+		product.setCreatedAt(LocalDateTime.now());
+		product.setUpdatedAt(LocalDateTime.now());
+	}
+
+	@Benchmark
+	public ProductModel convertToModel() {
+		return controller.convertToModel(product);
+	}
+
+	@Benchmark
+	public ProductModel beanUtilsCopyProperties() {
+		ProductModel model = new ProductModel();
+		BeanUtils.copyProperties(product, model);
+		model.setCategoryId(product.getCategory().getCategoryId());
+		model.setCategoryName(product.getCategory().getCategoryName());
+		return model;
+	}
+}
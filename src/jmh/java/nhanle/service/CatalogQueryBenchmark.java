@@ -0,0 +1,118 @@
+package nhanle.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import nhanle.DemoSpringbootCt5St71Application;
+import nhanle.entity.Category;
+import nhanle.entity.Product;
+import nhanle.model.ProductFilter;
+import nhanle.model.ProductModel;
+import nhanle.search.CategorySearchIndex;
+import nhanle.search.ProductSearchIndex;
+
+/**
+ * Đường lọc theo từ khoá của GET /api/products (SQL LIKE qua findSummaries và chỉ mục trigram)
+ * và CategoryServiceImpl.findByFilter trên H2 đã nạp sẵn {@code rows} sản phẩm và
+ * {@code rows} danh mục. Dữ liệu sinh bằng INSERT ... SELECT FROM SYSTEM_RANGE nên 1 triệu dòng
+ * chỉ mất vài giây; mỗi giá trị rows dùng một DB riêng.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CatalogQueryBenchmark {
+
+	private static final String[] WORDS = { "điện thoại", "laptop", "tai nghe", "bàn phím", "chuột", "màn hình", "sạc" };
+
+	@Param({ "10000", "100000", "1000000" })
+	public int rows;
+
+	// Khớp ~rows/10000 dòng (chuỗi số) hoặc ~1/7 số dòng (từ thông dụng)
+	@Param({ "4242", "laptop" })
+	public String keyword;
+
+	private ConfigurableApplicationContext context;
+	private ProductService productService;
+	private CategoryService categoryService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(DemoSpringbootCt5St71Application.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.datasource.url=jdbc:h2:mem:bench" + rows + ";DB_CLOSE_DELAY=-1",
+						"spring.h2.console.enabled=false",
+						"app.storage.type=memory",
+						"logging.level.root=WARN")
+				.run();
+		seed(new JdbcTemplate(context.getBean(DataSource.class)), rows);
+		context.getBean(ProductSearchIndex.class).rebuild();
+		context.getBean(CategorySearchIndex.class).rebuild();
+		productService = context.getBean(ProductService.class);
+		categoryService = context.getBean(CategoryService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	// Như endpoint: không phân trang, projection ProductModel
+	@Benchmark
+	public List<ProductModel> productKeywordSql() {
+		return productService.findSummaries(new ProductFilter(null, true, keyword), Pageable.unpaged()).getContent();
+	}
+
+	@Benchmark
+	public List<Product> productKeywordIndex() {
+		return productService.search(new ProductFilter(null, true, keyword), Pageable.unpaged()).getContent();
+	}
+
+	@Benchmark
+	public Page<Category> categoryKeyword() {
+		return categoryService.findByFilter(true, keyword, PageRequest.of(0, 10));
+	}
+
+	// Id bắt đầu từ 1_000_001 để không đụng dữ liệu mẫu của DataInitializer
+	static void seed(JdbcTemplate jdbc, int rows) {
+		long offset = 1_000_000L;
+		jdbc.update("INSERT INTO categories (category_id, category_name, description, status, created_at) "
+				+ "SELECT X + " + offset + ", 'Danh mục ' || X, 'Mô tả danh mục số ' || X, MOD(X, 10) <> 0, CURRENT_TIMESTAMP "
+				+ "FROM SYSTEM_RANGE(1, " + rows + ")");
+		StringBuilder word = new StringBuilder("CASE MOD(X, " + WORDS.length + ")");
+		for (int i = 0; i < WORDS.length; i++) {
+			word.append(" WHEN ").append(i).append(" THEN '").append(WORDS[i]).append("'");
+		}
+		word.append(" END");
+		jdbc.update("INSERT INTO products (product_id, product_name, description, price, quantity, status, category_id, created_at) "
+				+ "SELECT X + " + offset + ", 'Sản phẩm ' || X || ' ' || " + word + ", "
+				+ "'Mô tả ' || " + word + " || ' mẫu ' || MOD(X, 997), MOD(X, 1000) + 0.99, MOD(X, 50), MOD(X, 10) <> 0, "
+				+ offset + " + 1 + MOD(X, " + rows + "), CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + rows + ")");
+	}
+}
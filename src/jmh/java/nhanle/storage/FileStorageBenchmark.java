@@ -0,0 +1,81 @@
+package nhanle.storage;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * FileStorageService.storeImage trên đĩa thật (LocalBlobStore) với hai chế độ đặt tên.
+ * Ảnh thu nhỏ chạy nền trong ứng dụng nên ở đây executor bỏ qua tác vụ: chỉ đo phần
+ * request phải chờ. Chế độ content cùng nội dung mỗi lần => đo cả nhánh "đã có, chỉ touch".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileStorageBenchmark {
+
+	@Param({ "uuid", "content" })
+	public String store;
+
+	private Path root;
+	private FileStorageService service;
+	private MockMultipartFile file;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("bench-uploads");
+		service = new FileStorageService(new LocalBlobStore(root), store, task -> { });
+		file = new MockMultipartFile("imageFile", "photo.png", "image/png", png(1024, 768));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileSystemUtils.deleteRecursively(root);
+	}
+
+	@Benchmark
+	public String storeImage() throws IOException {
+		return service.storeImage(file);
+	}
+
+	private static byte[] png(int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = image.createGraphics();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < 200; i++) {
+			g.setColor(new Color(random.nextInt(0xFFFFFF)));
+			g.fillRect(random.nextInt(width), random.nextInt(height), 80, 60);
+		}
+		g.dispose();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,78 @@
+package nhanle.cache;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Bọc CacheManager local: mỗi lần evict/clear thì gửi thêm lên kênh để node khác xoá theo;
+ * lệnh nhận từ kênh chỉ xoá local, không gửi lại.
+ */
+public class BroadcastingCacheManager implements CacheManager {
+
+  private final CacheManager local;
+  private final CacheInvalidationChannel channel;
+
+  public BroadcastingCacheManager(CacheManager local, CacheInvalidationChannel channel) {
+    this.local = local;
+    this.channel = channel;
+    channel.subscribe(inv -> {
+      Cache cache = local.getCache(inv.cacheName());
+      if (cache == null) return;
+      if (inv.key() == null) cache.clear();
+      else cache.evict(inv.key());
+    });
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    Cache cache = local.getCache(name);
+    return cache != null ? new BroadcastingCache(cache) : null;
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return local.getCacheNames();
+  }
+
+  private class BroadcastingCache implements Cache {
+
+    private final Cache target;
+
+    BroadcastingCache(Cache target) {
+      this.target = target;
+    }
+
+    @Override
+    public String getName() { return target.getName(); }
+
+    @Override
+    public Object getNativeCache() { return target.getNativeCache(); }
+
+    @Override
+    public ValueWrapper get(Object key) { return target.get(key); }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) { return target.get(key, type); }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) { return target.get(key, valueLoader); }
+
+    @Override
+    public void put(Object key, Object value) { target.put(key, value); }
+
+    @Override
+    public void evict(Object key) {
+      target.evict(key);
+      channel.publish(target.getName(), key);
+    }
+
+    @Override
+    public void clear() {
+      target.clear();
+      channel.publish(target.getName(), null);
+    }
+  }
+}
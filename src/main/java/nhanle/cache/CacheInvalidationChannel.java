@@ -0,0 +1,18 @@
+package nhanle.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Kênh phát tán lệnh xoá cache giữa các node. Mặc định chỉ chạy 1 node
+ * ({@link LocalCacheInvalidationChannel}); muốn chạy cụm thì khai báo bean khác
+ * (Redis pub/sub, JMS, ...) implement interface này.
+ */
+public interface CacheInvalidationChannel {
+
+  // key == null nghĩa là xoá toàn bộ cache
+  void publish(String cacheName, Object key);
+
+  void subscribe(Consumer<Invalidation> listener);
+
+  record Invalidation(String cacheName, Object key) {}
+}
@@ -0,0 +1,15 @@
+package nhanle.cache;
+
+import java.util.function.Consumer;
+
+// Chạy 1 node: không có node nào khác cần nhận
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+  @Override
+  public void publish(String cacheName, Object key) {
+  }
+
+  @Override
+  public void subscribe(Consumer<Invalidation> listener) {
+  }
+}
@@ -0,0 +1,43 @@
+package nhanle.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import nhanle.cache.BroadcastingCacheManager;
+import nhanle.cache.CacheInvalidationChannel;
+import nhanle.cache.LocalCacheInvalidationChannel;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String CATEGORIES = "categories";
+  public static final String CATEGORY_LISTS = "categoryLists";
+
+  @Value("${app.cache.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}")
+  private String cacheSpec;
+
+  @Bean
+  public CaffeineCacheManager caffeineCacheManager() {
+    CaffeineCacheManager manager = new CaffeineCacheManager(CATEGORIES, CATEGORY_LISTS);
+    manager.setCacheSpecification(cacheSpec);
+    manager.setAllowNullValues(true); // Optional.empty() cũng được cache
+    return manager;
+  }
+
+  // caffeine -> phát tán evict giữa các node -> chỉ put/evict sau khi transaction commit
+  @Bean
+  @Primary
+  public CacheManager cacheManager(CaffeineCacheManager caffeineCacheManager,
+      ObjectProvider<CacheInvalidationChannel> channel) {
+    CacheInvalidationChannel ch = channel.getIfAvailable(LocalCacheInvalidationChannel::new);
+    return new TransactionAwareCacheManagerProxy(new BroadcastingCacheManager(caffeineCacheManager, ch));
+  }
+}
@@ -0,0 +1,105 @@
+package nhanle.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Giới hạn số connection được mượn cùng lúc bằng semaphore công bằng (virtual thread chờ
+ * semaphore chỉ "park", không chiếm carrier thread). Khi mỗi request chạy trên một virtual
+ * thread, hàng nghìn thread có thể cùng đòi connection: thay vì để tất cả dồn vào hàng đợi
+ * của Hikari rồi hết connectionTimeout cùng lúc, chúng xếp hàng ở đây và chỉ số permit
+ * (bằng kích thước pool) được đi tiếp. Permit trả lại khi connection được close.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final int limit;
+  private final long timeoutMillis;
+
+  public ConnectionLimitingDataSource(DataSource target, int limit, long timeoutMillis) {
+    super(target);
+    this.permits = new Semaphore(limit, true);
+    this.limit = limit;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return limited(super.getConnection());
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return limited(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int getQueueLength() {
+    return permits.getQueueLength();
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException("Hết lượt connection sau " + timeoutMillis
+            + "ms (giới hạn " + limit + ", đang chờ " + permits.getQueueLength() + ")");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Bị ngắt khi chờ connection", e);
+    }
+  }
+
+  // close() trả permit đúng một lần, kể cả khi được gọi nhiều lần
+  private Connection limited(Connection target) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+          if (method.getName().equals("close") && method.getParameterCount() == 0) {
+            try {
+              target.close();
+            } finally {
+              if (released.compareAndSet(false, true)) permits.release();
+            }
+            return null;
+          }
+          if (method.getName().equals("unwrap") && args != null && ((Class<?>) args[0]).isInstance(proxy)) {
+            return proxy;
+          }
+          try {
+            return method.invoke(target, args);
+          } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+          }
+        });
+  }
+}
@@ -0,0 +1,103 @@
+package nhanle.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import nhanle.metrics.ConnectionPoolMetrics;
+
+// Kích thước pool theo số core, gauge cho từng pool và cảnh báo cấu hình pool bất hợp lý lúc khởi động
+@Configuration
+public class ConnectionPoolConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(ConnectionPoolConfig.class);
+
+  private final Environment env;
+
+  public ConnectionPoolConfig(Environment env) {
+    this.env = env;
+  }
+
+  @Bean
+  public static HikariPoolTuner hikariPoolTuner(Environment env) {
+    return new HikariPoolTuner(env);
+  }
+
+  @Bean
+  public ConnectionPoolMetrics connectionPoolMetrics(HikariPoolTuner tuner) {
+    return new ConnectionPoolMetrics(tuner::getPools);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void checkPools(ApplicationReadyEvent event) {
+    HikariPoolTuner tuner = event.getApplicationContext().getBean(HikariPoolTuner.class);
+    for (HikariDataSource pool : tuner.getPools()) {
+      List<String> problems = check(pool);
+      if (problems.isEmpty()) {
+        log.info("Pool '{}': tối đa {} connection, tối thiểu rảnh {}, chờ tối đa {} ms", pool.getPoolName(),
+            pool.getMaximumPoolSize(), pool.getMinimumIdle(), pool.getConnectionTimeout());
+      } else {
+        problems.forEach(p -> log.warn("Pool '{}': {}", pool.getPoolName(), p));
+      }
+    }
+  }
+
+  List<String> check(HikariDataSource pool) {
+    List<String> problems = new ArrayList<>();
+    int cores = Runtime.getRuntime().availableProcessors();
+    int max = pool.getMaximumPoolSize();
+    if (max < 2) {
+      problems.add("maximum-pool-size=" + max + " quá nhỏ, request sẽ xếp hàng chờ connection");
+    } else if (max > cores * 4 + 1) {
+      problems.add("maximum-pool-size=" + max + " lớn hơn nhiều so với " + cores
+          + " core; thêm connection thường làm DB chậm hơn chứ không nhanh hơn");
+    }
+    if (pool.getMinimumIdle() >= 0 && pool.getMinimumIdle() < max && pool.getMinimumIdle() < 2) {
+      problems.add("minimum-idle=" + pool.getMinimumIdle() + ": pool phải mở connection mới khi tải tăng đột ngột");
+    }
+    if (pool.getConnectionTimeout() > 30_000) {
+      problems.add("connection-timeout=" + pool.getConnectionTimeout() + " ms: request treo quá lâu khi pool cạn");
+    }
+    if (pool.getMaxLifetime() == 0) {
+      problems.add("max-lifetime=0 (vô hạn): connection có thể bị DB/firewall cắt ngầm");
+    }
+
+    Integer batchSize = env.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class);
+    String url = pool.getJdbcUrl() != null ? pool.getJdbcUrl() : "";
+    Properties props = pool.getDataSourceProperties();
+    if (url.startsWith("jdbc:mysql:")) {
+      if (batchSize != null && batchSize > 1 && !enabled(props, url, "rewriteBatchedStatements")) {
+        problems.add("hibernate.jdbc.batch_size=" + batchSize
+            + " nhưng MySQL chưa bật rewriteBatchedStatements: batch vẫn gửi từng câu INSERT");
+      }
+      if (!enabled(props, url, "cachePrepStmts")) {
+        problems.add("MySQL chưa bật cachePrepStmts: mỗi câu lệnh đều phải parse lại");
+      }
+    } else if (url.startsWith("jdbc:postgresql:")) {
+      if (batchSize != null && batchSize > 1 && !enabled(props, url, "reWriteBatchedInserts")) {
+        problems.add("hibernate.jdbc.batch_size=" + batchSize
+            + " nhưng PostgreSQL chưa bật reWriteBatchedInserts");
+      }
+    } else if (url.startsWith("jdbc:mariadb:")) {
+      if (!enabled(props, url, "cachePrepStmts") && !enabled(props, url, "useServerPrepStmts")) {
+        problems.add("MariaDB chưa bật useServerPrepStmts/cachePrepStmts");
+      }
+    }
+    return problems;
+  }
+
+  // Tham số driver có thể nằm trong data-source-properties hoặc ngay trên URL
+  private static boolean enabled(Properties props, String url, String name) {
+    return "true".equalsIgnoreCase(props.getProperty(name)) || url.contains(name + "=true");
+  }
+}
@@ -1,6 +1,7 @@
 package nhanle.config;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -24,14 +25,20 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
+        // Lược đồ do Flyway quản lý nên dữ liệu còn lại qua các lần khởi động: chỉ seed khi DB trống
+        if (categoryService.count() > 0) {
+            return;
+        }
+
         // Tạo sample categories
-        createSampleCategories();
+        List<Category> categories = createSampleCategories();
         
         // Tạo sample products
-        createSampleProducts();
+        createSampleProducts(categories);
     }
 
-    private void createSampleCategories() {
+    // Trả về đúng các entity đã lưu, theo thứ tự khai báo
+    private List<Category> createSampleCategories() {
         List<Category> categories = Arrays.asList(
             createCategory("Điện tử", "Thiết bị điện tử và công nghệ", "fas fa-laptop"),
             createCategory("Thời trang", "Quần áo và phụ kiện thời trang", "fas fa-tshirt"),
@@ -41,9 +48,11 @@ public class DataInitializer implements CommandLineRunner {
             createCategory("Thực phẩm", "Thực phẩm và đồ uống", "fas fa-utensils")
         );
 
+        List<Category> saved = new ArrayList<>(categories.size());
         for (Category category : categories) {
-            categoryService.save(category);
+            saved.add(categoryService.save(category));
         }
+        return saved;
     }
 
     private Category createCategory(String name, String description, String icon) {
@@ -55,10 +64,7 @@ public class DataInitializer implements CommandLineRunner {
         return category;
     }
 
-    private void createSampleProducts() {
-        // Lấy các categories đã tạo để tham chiếu
-        List<Category> categories = categoryService.findActiveCategories();
-        
+    private void createSampleProducts(List<Category> categories) {
         if (categories.size() >= 6) {
             Category electronics = categories.get(0);
             Category fashion = categories.get(1);
@@ -0,0 +1,86 @@
+package nhanle.config;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Pool chưa khai báo kích thước thì lấy theo số core: cores * connections-per-core + 1 (công thức
+ * của HikariCP, 1 = "spindle"). Giá trị này chỉ là mặc định, đặt trước khi cấu hình riêng của
+ * từng pool được bind: pool nào có maximum-pool-size trong prefix của nó thì giữ giá trị đó.
+ * <ul>
+ * <li>pool Boot tự tạo: postProcessBeforeInitialization chạy trước ConfigurationPropertiesBindingPostProcessor
+ * (HIGHEST_PRECEDENCE + 1) nên spring.datasource.hikari.* vẫn ghi đè được;</li>
+ * <li>pool tự dựng (primary/replica): gọi {@link #configure} với các prefix theo thứ tự ưu tiên tăng dần.</li>
+ * </ul>
+ * Đồng thời ghi nhận mọi pool để gắn metric và kiểm tra cấu hình lúc khởi động.
+ */
+public class HikariPoolTuner implements BeanPostProcessor, PriorityOrdered {
+
+  private final Environment env;
+  private final List<HikariDataSource> pools = new CopyOnWriteArrayList<>();
+  // Pool đã được configure() bind xong: không đặt lại mặc định lên trên cấu hình đã bind
+  private final Set<HikariDataSource> configured = Collections.synchronizedSet(
+      Collections.newSetFromMap(new IdentityHashMap<>()));
+
+  public HikariPoolTuner(Environment env) {
+    this.env = env;
+  }
+
+  // Đặt kích thước mặc định rồi bind lần lượt từng prefix (prefix sau ghi đè prefix trước)
+  public HikariDataSource configure(HikariDataSource pool, String... prefixes) {
+    pool.setMaximumPoolSize(derivedPoolSize(env));
+    Binder binder = Binder.get(env);
+    for (String prefix : prefixes) {
+      binder.bind(prefix, Bindable.ofInstance(pool));
+    }
+    configured.add(pool);
+    return pool;
+  }
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+    if (bean instanceof HikariDataSource pool && !configured.contains(pool) && !pools.contains(pool)) {
+      pool.setMaximumPoolSize(derivedPoolSize(env));
+    }
+    return bean;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+    if (bean instanceof HikariDataSource pool && !pools.contains(pool)) {
+      if (pool.getPoolName() == null) {
+        pool.setPoolName(beanName);
+      }
+      pools.add(pool);
+    }
+    return bean;
+  }
+
+  public List<HikariDataSource> getPools() {
+    return pools;
+  }
+
+  static int derivedPoolSize(Environment env) {
+    int perCore = env.getProperty("app.datasource.pool.connections-per-core", Integer.class, 2);
+    int max = env.getProperty("app.datasource.pool.max-derived-size", Integer.class, 50);
+    return Math.min(Runtime.getRuntime().availableProcessors() * perCore + 1, max);
+  }
+
+  @Override
+  public int getOrder() {
+    return Ordered.HIGHEST_PRECEDENCE;
+  }
+}
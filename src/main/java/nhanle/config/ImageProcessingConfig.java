@@ -0,0 +1,29 @@
+package nhanle.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImageProcessingConfig {
+
+    // Pool + hàng đợi có giới hạn: khi đầy thì bỏ qua tác vụ (trang vẫn dùng ảnh gốc)
+    // thay vì để các lần upload dồn dập chiếm hết CPU/bộ nhớ
+    @Bean(name = "imageExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor imageExecutor(@Value("${app.images.workers:2}") int workers,
+                                                @Value("${app.images.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,71 @@
+package nhanle.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Chỉ bật khi có app.datasource.replica.url: tách pool ghi (primary) và pool đọc (replica).
+ * LazyConnectionDataSourceProxy hoãn lấy connection tới câu SQL đầu tiên, lúc đó cờ
+ * readOnly của transaction đã được set nên routing chọn đúng pool.
+ * Cả hai pool nhận spring.datasource.hikari.* (timeout, data-source-properties của driver...);
+ * pool replica ghi đè riêng bằng app.datasource.replica.hikari.*. Kích thước pool chưa khai báo
+ * ở prefix nào thì HikariPoolTuner lấy theo số core, quyết định riêng cho từng pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+  @Bean(autowireCandidate = false)
+  public HikariDataSource primaryDataSource(DataSourceProperties properties, HikariPoolTuner tuner) {
+    HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    ds.setPoolName("primary");
+    return tuner.configure(ds, "spring.datasource.hikari");
+  }
+
+  @Bean(autowireCandidate = false)
+  public HikariDataSource replicaDataSource(DataSourceProperties properties, HikariPoolTuner tuner,
+      @Value("${app.datasource.replica.url}") String url,
+      @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+      @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+    HikariDataSource ds = DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .driverClassName(properties.determineDriverClassName())
+        .url(url)
+        .username(username)
+        .password(password)
+        .build();
+    // Cấu hình Hikari chung trước, prefix riêng của replica ghi đè sau
+    tuner.configure(ds, "spring.datasource.hikari", "app.datasource.replica.hikari");
+    ds.setPoolName("replica");
+    ds.setReadOnly(true);
+    return ds;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(DataSourceProperties properties, HikariPoolTuner tuner,
+      @Value("${app.datasource.replica.url}") String url,
+      @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+      @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+    ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+    HikariDataSource primary = primaryDataSource(properties, tuner);
+    routing.setTargetDataSources(Map.of(
+        ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+        ReadWriteRoutingDataSource.Route.REPLICA, replicaDataSource(properties, tuner, url, username, password)));
+    routing.setDefaultTargetDataSource(primary);
+    routing.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+}
@@ -0,0 +1,40 @@
+package nhanle.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import nhanle.metrics.SqlMetricsListener;
+
+// Bọc DataSource bằng datasource-proxy: đo từng câu lệnh, log câu chậm, đếm SQL theo request
+@Configuration
+@ConditionalOnProperty(name = "app.sql.monitoring.enabled", matchIfMissing = true)
+public class SqlMonitoringConfig {
+
+  @Bean
+  public static BeanPostProcessor sqlMonitoringPostProcessor(Environment env, ObjectProvider<MeterRegistry> registry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+            || bean instanceof ProxyDataSource) {
+          return bean;
+        }
+        long slowMillis = env.getProperty("app.sql.slow-threshold-ms", Long.class, 200L);
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name("main")
+            .listener(new SqlMetricsListener(registry, slowMillis))
+            .build();
+      }
+    };
+  }
+}
@@ -0,0 +1,215 @@
+package nhanle.config;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import nhanle.entity.Category;
+import nhanle.entity.Product;
+
+/**
+ * Sinh dữ liệu giả lập khối lượng lớn cho đo tải (chỉ chạy với profile {@code datagen}).
+ * Số sản phẩm mỗi danh mục theo phân phối Zipf (vài danh mục rất đông, đa số thưa),
+ * tên/mô tả ghép từ từ vựng tiếng Việt thật, giá theo phân phối log-normal.
+ * Ghi bằng persist + flush/clear theo lô (JDBC batch, id từ sequence pooled);
+ * chỉ mục tìm kiếm và bộ đếm được dựng lại ở ApplicationReadyEvent sau khi runner chạy xong.
+ * Cùng seed => cùng bộ dữ liệu khi chạy trên CSDL trống. Flyway giữ dữ liệu qua các lần khởi động nên
+ * runner bỏ qua nếu đã đủ {@code app.datagen.products} sản phẩm; lần chạy trước bị ngắt giữa chừng thì
+ * dùng lại các danh mục mẫu đã có và chỉ sinh phần sản phẩm còn thiếu.
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] GROUPS = {
+        "Điện thoại", "Máy tính xách tay", "Máy tính bảng", "Phụ kiện điện thoại", "Âm thanh", "Máy ảnh",
+        "Thời trang nam", "Thời trang nữ", "Giày dép", "Túi xách", "Đồng hồ", "Trang sức",
+        "Sách văn học", "Sách kinh tế", "Sách thiếu nhi", "Văn phòng phẩm", "Đồ chơi", "Mẹ và bé",
+        "Dụng cụ thể thao", "Dã ngoại", "Xe đạp", "Đồ gia dụng", "Nhà bếp", "Nội thất",
+        "Chăm sóc da", "Trang điểm", "Sức khoẻ", "Thực phẩm khô", "Đồ uống", "Thú cưng"
+    };
+    private static final String[] NOUNS = {
+        "Điện thoại", "Laptop", "Tai nghe", "Loa bluetooth", "Bàn phím cơ", "Chuột không dây", "Màn hình",
+        "Sạc dự phòng", "Áo thun", "Áo sơ mi", "Quần jean", "Váy liền", "Giày chạy bộ", "Dép quai hậu",
+        "Balo", "Ví da", "Đồng hồ", "Sách", "Bút bi", "Sổ tay", "Nồi cơm điện", "Máy xay sinh tố",
+        "Chảo chống dính", "Bình giữ nhiệt", "Ghế công thái học", "Đèn bàn", "Kem chống nắng",
+        "Sữa rửa mặt", "Son môi", "Vitamin tổng hợp", "Cà phê rang xay", "Trà xanh", "Hạt dinh dưỡng",
+        "Thức ăn cho mèo", "Vợt cầu lông", "Thảm tập yoga", "Lều cắm trại"
+    };
+    private static final String[] BRANDS = {
+        "Samsung", "Apple", "Xiaomi", "Oppo", "Sony", "Asus", "Dell", "Lenovo", "Logitech", "Anker",
+        "Nike", "Adidas", "Biti's", "Uniqlo", "Casio", "Thiên Long", "Sunhouse", "Panasonic", "Lock&Lock",
+        "Philips", "La Roche-Posay", "Innisfree", "Vinamilk", "Trung Nguyên", "Yonex", "Coleman"
+    };
+    private static final String[] TRAITS = {
+        "chính hãng", "cao cấp", "giá rẻ", "phiên bản mới", "chống nước", "không dây", "siêu nhẹ",
+        "nhỏ gọn", "bền bỉ", "tiết kiệm điện", "màu đen", "màu trắng", "size lớn", "bản quốc tế",
+        "nhập khẩu", "hàng tuyển chọn"
+    };
+    private static final String[] SENTENCES = {
+        "Sản phẩm được bảo hành %d tháng tại các trung tâm trên toàn quốc.",
+        "Thiết kế %s, phù hợp sử dụng hằng ngày ở nhà lẫn văn phòng.",
+        "Chất liệu %s, đã qua kiểm định chất lượng trước khi xuất xưởng.",
+        "Giao hàng nhanh trong %d ngày, hỗ trợ đổi trả miễn phí nếu lỗi do nhà sản xuất.",
+        "Đánh giá trung bình %d/5 sao từ khách hàng đã mua.",
+        "Phiên bản %s đi kèm đầy đủ phụ kiện và hướng dẫn sử dụng tiếng Việt."
+    };
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int productCount;
+    private final int categoryCount;
+    private final int batchSize;
+    private final double skew;
+    private final long seed;
+
+    public SyntheticDataGenerator(PlatformTransactionManager transactionManager,
+                                  @Value("${app.datagen.products:1000000}") int productCount,
+                                  @Value("${app.datagen.categories:500}") int categoryCount,
+                                  @Value("${app.datagen.batch-size:1000}") int batchSize,
+                                  @Value("${app.datagen.skew:1.1}") double skew,
+                                  @Value("${app.datagen.seed:42}") long seed) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productCount = productCount;
+        this.categoryCount = Math.max(categoryCount, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.skew = skew;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) {
+        long existing = transactionTemplate.execute(tx -> entityManager
+                .createQuery("select count(p) from Product p", Long.class).getSingleResult());
+        if (existing >= productCount) {
+            log.info("Đã có {} sản phẩm (>= {}), bỏ qua sinh dữ liệu", existing, productCount);
+            return;
+        }
+
+        Random random = new Random(seed);
+        long start = System.currentTimeMillis();
+
+        List<Category> categories = transactionTemplate.execute(tx -> createCategories(random));
+        double[] cumulative = zipfCumulative(categories.size(), skew);
+
+        int done = (int) existing;
+        while (done < productCount) {
+            int size = Math.min(batchSize, productCount - done);
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (int i = 0; i < size; i++) {
+                    Category category = categories.get(pick(cumulative, random.nextDouble()));
+                    entityManager.persist(createProduct(random, entityManager.getReference(Category.class,
+                            category.getCategoryId())));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            done += size;
+            if (done % (batchSize * 100) == 0 || done == productCount) {
+                log.info("Đã sinh {}/{} sản phẩm ({} ms)", done, productCount, System.currentTimeMillis() - start);
+            }
+        }
+        log.info("Sinh xong {} danh mục, {} sản phẩm trong {} ms", categories.size(), productCount,
+                System.currentTimeMillis() - start);
+    }
+
+    private List<Category> createCategories(Random random) {
+        List<Category> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            String group = GROUPS[i % GROUPS.length];
+            String name = i < GROUPS.length ? group + " (mẫu)" : group + " " + (i / GROUPS.length + 1);
+            String description = "Danh mục " + group.toLowerCase() + " gồm các mặt hàng "
+                    + TRAITS[random.nextInt(TRAITS.length)] + " và " + TRAITS[random.nextInt(TRAITS.length)];
+            boolean status = random.nextDouble() < 0.95;
+            // Tên danh mục là duy nhất (không phân biệt hoa thường): dùng lại bản của lần chạy trước
+            List<Category> found = entityManager
+                    .createQuery("select c from Category c where lower(c.categoryName) = lower(:name)", Category.class)
+                    .setParameter("name", name)
+                    .getResultList();
+            if (!found.isEmpty()) {
+                categories.add(found.get(0));
+                continue;
+            }
+            Category category = new Category();
+            category.setCategoryName(name);
+            category.setDescription(description);
+            category.setStatus(status);
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private Product createProduct(Random random, Category category) {
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        String brand = BRANDS[random.nextInt(BRANDS.length)];
+        String trait = TRAITS[random.nextInt(TRAITS.length)];
+        String name = noun + " " + brand + " " + trait + " " + (char) ('A' + random.nextInt(26)) + (100 + random.nextInt(900));
+
+        StringBuilder description = new StringBuilder();
+        int sentences = 2 + random.nextInt(3);
+        for (int i = 0; i < sentences; i++) {
+            String template = SENTENCES[random.nextInt(SENTENCES.length)];
+            if (i > 0) description.append(' ');
+            description.append(template.contains("%s")
+                    ? String.format(template, TRAITS[random.nextInt(TRAITS.length)])
+                    : String.format(template, 1 + random.nextInt(24)));
+        }
+
+        // log-normal quanh ~700.000đ, làm tròn nghìn đồng, không vượt precision (10,2) của cột
+        double raw = Math.exp(13.5 + 1.2 * random.nextGaussian());
+        BigDecimal price = BigDecimal.valueOf(Math.min(Math.max(raw, 1_000), 99_999_000))
+                .divide(BigDecimal.valueOf(1000), 0, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(1000))
+                .setScale(2);
+        int quantity = random.nextDouble() < 0.1 ? 0 : (int) Math.min(-Math.log(random.nextDouble()) * 40, 5000);
+
+        Product product = new Product(name, description.toString(), price, quantity, category);
+        product.setStatus(random.nextDouble() < 0.92);
+        return product;
+    }
+
+    // Phân phối Zipf: danh mục hạng k có trọng số 1/k^s
+    private static double[] zipfCumulative(int n, double s) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1.0 / Math.pow(k + 1, s);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, double u) {
+        int lo = 0;
+        int hi = cumulative.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cumulative[mid] < u) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
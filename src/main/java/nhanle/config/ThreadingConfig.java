@@ -0,0 +1,49 @@
+package nhanle.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Chế độ virtual thread (spring.threads.virtual.enabled=true, cần chạy trên JVM 21+; trên
+ * JVM 17 Spring Boot bỏ qua cờ này): Boot tự cho Tomcat và executor của @Async/@Scheduled
+ * dùng virtual thread. Ở đây chỉ thêm bộ giới hạn connection để số request chặn trên JDBC
+ * không vượt quá pool Hikari. imageExecutor giữ pool cố định vì resize ảnh tốn CPU.
+ */
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(name = "app.datasource.connection-limit.enabled", matchIfMissing = true)
+    public static BeanPostProcessor connectionLimitingPostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                // HikariPoolTuner (PriorityOrdered) đã chạy trước nên kích thước pool ở đây là giá trị cuối
+                int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize()
+                        : env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                                HikariPoolTuner.derivedPoolSize(env));
+                int limit = env.getProperty("app.datasource.connection-limit.permits", Integer.class, poolSize);
+                long timeout = env.getProperty("app.datasource.connection-limit.timeout-ms", Long.class,
+                        env.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L));
+                return new ConnectionLimitingDataSource(dataSource, limit, timeout);
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package nhanle.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    private final CaffeineCacheManager cacheManager;
+
+    public CacheStatsController(CaffeineCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Thống kê hit/miss của từng cache (cần recordStats trong app.cache.spec)
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(name);
+            if (cache == null) continue;
+            Cache<?, ?> nativeCache = (Cache<?, ?>) cache.getNativeCache();
+            CacheStats s = nativeCache.stats();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("size", nativeCache.estimatedSize());
+            item.put("hits", s.hitCount());
+            item.put("misses", s.missCount());
+            item.put("hitRate", s.hitRate());
+            item.put("evictions", s.evictionCount());
+            result.put(name, item);
+        }
+        return result;
+    }
+}
@@ -3,6 +3,7 @@ package nhanle.controller;
 import java.util.Optional;
 
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -21,8 +22,11 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import jakarta.validation.Valid;
 import nhanle.entity.Category;
 import nhanle.model.CategoryModel;
+import nhanle.search.SearchMode;
 import nhanle.service.CategoryService;
+import nhanle.stats.CatalogCounters;
 import nhanle.storage.FileStorageService;
+import nhanle.support.SortRegistry;
 
 @Controller
 @RequestMapping("/admin/categories")
@@ -30,10 +34,15 @@ public class CategoryAdminController {
 
 	private final CategoryService categoryService;
 	private final FileStorageService fileStorageService;
+	private final CatalogCounters catalogCounters;
+	private final String defaultSearchMode;
 
-	public CategoryAdminController(CategoryService categoryService, FileStorageService fileStorageService) {
+	public CategoryAdminController(CategoryService categoryService, FileStorageService fileStorageService,
+			CatalogCounters catalogCounters, @Value("${app.search.mode:sql}") String defaultSearchMode) {
 		this.categoryService = categoryService;
 		this.fileStorageService = fileStorageService;
+		this.catalogCounters = catalogCounters;
+		this.defaultSearchMode = defaultSearchMode;
 	}
 
 	@GetMapping
@@ -42,31 +51,30 @@ public class CategoryAdminController {
 			@RequestParam(value = "page", defaultValue = "0") int page,
 			@RequestParam(value = "size", defaultValue = "10") int size,
 			@RequestParam(value = "sort", defaultValue = "categoryName") String sort,
-			@RequestParam(value = "direction", defaultValue = "asc") String direction) {
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "search", required = false) String search) {
 
 		page = Math.max(page, 0);
 		size = Math.max(Math.min(size, 100), 1);
-		Sort.Direction dir = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
-		PageRequest pageable = PageRequest.of(page, size, Sort.by(dir, sort));
+		Sort order = SortRegistry.CATEGORIES.resolveOrDefault(sort, "categoryName", direction);
+		sort = SortRegistry.primaryKey(order);
+		PageRequest pageable = PageRequest.of(page, size, order);
 
 		Page<Category> result;
-		if (status != null && keyword != null && !keyword.isBlank())
-			result = categoryService.findByStatusAndKeyword(status, keyword.trim(), pageable);
-		else if (status != null)
-			result = categoryService.findByStatus(status, pageable);
-		else if (keyword != null && !keyword.isBlank())
-			result = categoryService.findByKeyword(keyword.trim(), pageable);
+		if (keyword != null && !keyword.isBlank() && SearchMode.resolve(search, defaultSearchMode) == SearchMode.INDEX)
+			result = categoryService.search(status, keyword.trim(), pageable);
 		else
-			result = categoryService.findAll(pageable);
+			result = categoryService.findByFilter(status, keyword, pageable);
 
 		model.addAttribute("page", result); // <-- quan trọng: trang list dùng 'page'
 		model.addAttribute("q", keyword); // form search đang bind 'q'
 		model.addAttribute("status", status);
 		model.addAttribute("sort", sort);
 		model.addAttribute("direction", direction);
-		model.addAttribute("totalCategories", categoryService.count());
-		model.addAttribute("activeCategories", categoryService.countByStatus(true));
-		model.addAttribute("inactiveCategories", categoryService.countByStatus(false));
+		// Đọc bộ đếm trong bộ nhớ thay cho 3 câu COUNT
+		model.addAttribute("totalCategories", catalogCounters.categories().total());
+		model.addAttribute("activeCategories", catalogCounters.categories().active());
+		model.addAttribute("inactiveCategories", catalogCounters.categories().inactive());
 
 		return "admin/categories/list";
 	}
@@ -119,12 +127,13 @@ public class CategoryAdminController {
 	@GetMapping("/edit/{categoryId}")
 	public String editForm(@PathVariable Long categoryId, ModelMap model, RedirectAttributes redirectAttributes) {
 
-		Optional<Category> categoryOpt = categoryService.findById(categoryId);
+		Optional<CategoryModel> categoryOpt = categoryService.findModelById(categoryId);
 		if (categoryOpt.isEmpty()) {
 			redirectAttributes.addFlashAttribute("errorMessage", "Không tìm thấy danh mục với ID: " + categoryId);
 			return "redirect:/admin/categories";
 		}
 
+		// Bản cache dùng chung: sửa trên bản sao
 		CategoryModel categoryModel = new CategoryModel();
 		BeanUtils.copyProperties(categoryOpt.get(), categoryModel);
 		categoryModel.setEdit(true);
@@ -220,7 +229,7 @@ public class CategoryAdminController {
 	@GetMapping("/view/{categoryId}")
 	public String view(@PathVariable Long categoryId, ModelMap model, RedirectAttributes redirectAttributes) {
 
-		Optional<Category> categoryOpt = categoryService.findById(categoryId);
+		Optional<CategoryModel> categoryOpt = categoryService.findModelById(categoryId);
 		if (categoryOpt.isEmpty()) {
 			redirectAttributes.addFlashAttribute("errorMessage", "Không tìm thấy danh mục với ID: " + categoryId);
 			return "redirect:/admin/categories";
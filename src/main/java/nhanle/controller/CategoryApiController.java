@@ -3,11 +3,16 @@ package nhanle.controller;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -23,9 +28,12 @@ import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 import nhanle.entity.Category;
+import nhanle.model.BulkStatusRequest;
 import nhanle.model.CategoryModel;
+import nhanle.search.SearchMode;
 import nhanle.service.CategoryService;
 import nhanle.service.ProductService;
+import nhanle.support.SortRegistry;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -37,31 +45,44 @@ public class CategoryApiController {
     @Autowired
     private ProductService productService;
 
+    @Value("${app.search.mode:sql}")
+    private String defaultSearchMode;
+
     // GET all categories
     @GetMapping
     public ResponseEntity<?> getAllCategories(
             @RequestParam(defaultValue = "true") Boolean status,
-            @RequestParam(required = false) String keyword) {
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean withCounts,
+            @RequestParam(defaultValue = "categoryId") String sort,
+            @RequestParam(defaultValue = "asc") String direction) {
         
         try {
-            List<Category> categories;
+            Sort order = SortRegistry.CATEGORIES.resolve(sort, direction);
+            List<CategoryModel> categoryModels;
             
-            if (status && keyword == null) {
-                categories = categoryService.findActiveCategories();
-            } else {
-                // For complex queries, we'll need to get all and filter
-                categories = categoryService.findActiveCategories().stream()
-                    .filter(c -> status.equals(c.getStatus()))
-                    .filter(c -> keyword == null || keyword.trim().isEmpty() || 
-                               c.getCategoryName().toLowerCase().contains(keyword.toLowerCase()))
+            if (keyword != null && !keyword.trim().isEmpty()
+                    && SearchMode.resolve(search, defaultSearchMode) == SearchMode.INDEX) {
+                categoryModels = categoryService.search(status, keyword.trim(), Pageable.unpaged())
+                    .getContent().stream()
+                    .map(this::convertToModel)
                     .collect(Collectors.toList());
+            } else {
+                categoryModels = categoryService.findSummaries(status, keyword, Pageable.unpaged(order)).getContent();
             }
             
-            List<CategoryModel> categoryModels = categories.stream()
-                .map(this::convertToModel)
-                .collect(Collectors.toList());
+            if (withCounts) {
+                // Một bản đồ đếm cho cả danh sách thay vì COUNT từng danh mục
+                Map<Long, Long> counts = productService.cachedCountByCategory();
+                categoryModels.forEach(m -> m.setProductCount(counts.getOrDefault(m.getCategoryId(), 0L)));
+            }
             
             return ResponseEntity.ok(categoryModels);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Lỗi khi lấy danh sách danh mục: " + e.getMessage());
@@ -73,11 +94,13 @@ public class CategoryApiController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getCategoryById(@PathVariable Long id) {
         try {
-            Optional<Category> categoryOpt = categoryService.findById(id);
-            if (categoryOpt.isPresent()) {
-                CategoryModel categoryModel = convertToModel(categoryOpt.get());
+            Optional<CategoryModel> cached = categoryService.findModelById(id);
+            if (cached.isPresent()) {
+                // Bản cache dùng chung: gắn productCount trên bản sao
+                CategoryModel categoryModel = new CategoryModel();
+                BeanUtils.copyProperties(cached.get(), categoryModel);
                 // Add product count
-                Long productCount = productService.countByCategoryId(id);
+                Long productCount = productService.cachedCountByCategory(id);
                 categoryModel.setProductCount(productCount);
                 return ResponseEntity.ok(categoryModel);
             } else {
@@ -152,8 +175,10 @@ public class CategoryApiController {
                 return ResponseEntity.badRequest().body(error);
             }
 
-            BeanUtils.copyProperties(categoryModel, existingCategory, "categoryId", "createdAt", "updatedAt");
-            Category updatedCategory = categoryService.update(existingCategory);
+            Category categoryToUpdate = new Category();
+            BeanUtils.copyProperties(categoryModel, categoryToUpdate, "categoryId", "createdAt", "updatedAt");
+            categoryToUpdate.setCategoryId(id);
+            Category updatedCategory = categoryService.update(categoryToUpdate);
             
             CategoryModel responseModel = convertToModel(updatedCategory);
             return ResponseEntity.ok(responseModel);
@@ -206,7 +231,7 @@ public class CategoryApiController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
             }
 
-            // Check if category has products
+            // Check if category has products (đếm thật trên DB: bộ đếm cache có thể trễ)
             Long productCount = productService.countByCategoryId(id);
             if (productCount > 0) {
                 Map<String, String> error = new HashMap<>();
@@ -249,11 +274,59 @@ public class CategoryApiController {
         }
     }
 
+    // BULK STATUS: {"ids": [...], "status": true|false}
+    @PutMapping("/bulk/status")
+    public ResponseEntity<?> bulkUpdateStatus(@Valid @RequestBody BulkStatusRequest request,
+                                              BindingResult bindingResult) {
+        if (request.getStatus() == null) {
+            bindingResult.rejectValue("status", "NotNull", "Trạng thái không được để trống");
+        }
+        return bulk(bindingResult, () -> categoryService.updateStatus(request.getIds(), request.getStatus()),
+                request, "Lỗi khi cập nhật trạng thái hàng loạt: ");
+    }
+
+    // BULK SOFT DELETE: {"ids": [...]}; danh mục còn sản phẩm được giữ nguyên
+    @DeleteMapping("/bulk")
+    public ResponseEntity<?> bulkDelete(@Valid @RequestBody BulkStatusRequest request,
+                                        BindingResult bindingResult) {
+        return bulk(bindingResult, () -> categoryService.softDelete(request.getIds()), request, "Lỗi khi xóa hàng loạt: ");
+    }
+
+    // BULK RESTORE: {"ids": [...]}
+    @PutMapping("/bulk/restore")
+    public ResponseEntity<?> bulkRestore(@Valid @RequestBody BulkStatusRequest request,
+                                         BindingResult bindingResult) {
+        return bulk(bindingResult, () -> categoryService.updateStatus(request.getIds(), true),
+                request, "Lỗi khi khôi phục hàng loạt: ");
+    }
+
+    // Trả về số id yêu cầu (đã bỏ trùng) và số dòng thực sự thay đổi
+    private ResponseEntity<?> bulk(BindingResult bindingResult, IntSupplier action,
+                                   BulkStatusRequest request, String errorPrefix) {
+        if (bindingResult.hasErrors()) {
+            Map<String, String> errors = new HashMap<>();
+            bindingResult.getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage()));
+            return ResponseEntity.badRequest().body(errors);
+        }
+        try {
+            int affected = action.getAsInt();
+            Map<String, Object> response = new HashMap<>();
+            response.put("requested", request.getIds().stream().filter(Objects::nonNull).distinct().count());
+            response.put("affected", affected);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", errorPrefix + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     // Helper methods
     private CategoryModel convertToModel(Category category) {
-        CategoryModel model = new CategoryModel();
-        BeanUtils.copyProperties(category, model);
-        return model;
+        return new CategoryModel(category.getCategoryId(), category.getCategoryName(),
+                category.getDescription(), category.getIcon(), category.getStatus(),
+                category.getCreatedAt(), category.getUpdatedAt());
     }
 
     private Category convertToEntity(CategoryModel model) {
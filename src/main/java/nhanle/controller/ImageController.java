@@ -0,0 +1,140 @@
+package nhanle.controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import nhanle.storage.BlobInfo;
+import nhanle.storage.FileStorageService;
+
+/**
+ * Phục vụ ảnh upload từ BlobStore (đĩa cục bộ, nhiều thư mục hoặc S3):
+ * <ul>
+ * <li>ETag mạnh: tên theo SHA-256 dùng luôn hash, file khác dùng kích thước + mtime;
+ * bản nén thêm hậu tố encoding ("&lt;hash&gt;-br") để Range/If-Range không lẫn giữa các bản;</li>
+ * <li>tên theo nội dung được cache 1 năm kèm {@code immutable};</li>
+ * <li>If-None-Match/If-Modified-Since trả 304, Range trả 206 (Spring xử lý cho body là Resource);</li>
+ * <li>có sẵn bản .br/.gz và client chấp nhận thì gửi bản nén;</li>
+ * <li>file lớn, không Range, trên Tomcat hỗ trợ sendfile thì giao cho container gửi zero-copy.</li>
+ * </ul>
+ */
+@RestController
+public class ImageController {
+
+    private static final String PREFIX = "/images/";
+    // Tên có chứa SHA-256 (blob cas/ và các bản thu nhỏ của nó): nội dung không bao giờ đổi
+    private static final Pattern CONTENT_HASH = Pattern.compile(".*/([0-9a-f]{64})\\.[a-z0-9]+$");
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final FileStorageService fileStorageService;
+
+    public ImageController(FileStorageService fileStorageService) {
+        this.fileStorageService = fileStorageService;
+    }
+
+    @GetMapping(PREFIX + "**")
+    public ResponseEntity<Resource> image(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String name = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        if (name != null && name.startsWith(PREFIX)) {
+            name = name.substring(PREFIX.length());
+        }
+        Optional<BlobInfo> found = fileStorageService.find(name);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        BlobInfo info = found.get();
+
+        BlobInfo body = info;
+        String encoding = null;
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept != null) {
+            for (String candidate : new String[] { "br", "gzip" }) {
+                if (!accept.contains(candidate)) continue;
+                // Kết quả (kể cả "không có") được nhớ, không stat kho ở mỗi request
+                Optional<BlobInfo> compressed = fileStorageService.findCompressed(name, extensionFor(candidate));
+                if (compressed.isPresent()) {
+                    body = compressed.get();
+                    encoding = candidate;
+                    break;
+                }
+            }
+        }
+
+        String hash = contentHash(name);
+        long lastModified = info.lastModified().toEpochMilli();
+        String version = hash != null ? hash : Long.toHexString(info.size()) + "-" + Long.toHexString(lastModified);
+        // Mỗi encoding một ETag: Range/If-Range không thể ghép byte của bản gốc với bản .br/.gz
+        String etag = "\"" + version + (encoding != null ? "-" + encoding : "") + "\"";
+        CacheControl cacheControl = hash != null
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.maxAge(Duration.ofHours(1)).cachePublic().mustRevalidate();
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return null;
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        headers.setContentType(mediaType);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+
+        if (request.getHeader(HttpHeaders.RANGE) == null && encoding == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                && body.size() >= SENDFILE_MIN_SIZE) {
+            Optional<Path> local = fileStorageService.localPath(body.key());
+            if (local.isPresent()) {
+                return sendfile(local.get(), body.size(), headers, request, response);
+            }
+        }
+
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        return ResponseEntity.ok().headers(headers).body(fileStorageService.resource(body));
+    }
+
+    // Tomcat (NIO) tự gửi file bằng sendfile sau khi servlet trả về; chỉ áp dụng cho backend đĩa cục bộ
+    private ResponseEntity<Resource> sendfile(Path file, long length, HttpHeaders headers,
+                                              HttpServletRequest request, HttpServletResponse response) {
+        headers.forEach((name, values) -> values.forEach(v -> response.addHeader(name, v)));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentLengthLong(length);
+        request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, 0L);
+        request.setAttribute(SENDFILE_END, length);
+        return null;
+    }
+
+    private static String contentHash(String name) {
+        var m = CONTENT_HASH.matcher(name);
+        return m.matches() ? m.group(1) : null;
+    }
+
+    private static String extensionFor(String encoding) {
+        return "br".equals(encoding) ? ".br" : ".gz";
+    }
+}
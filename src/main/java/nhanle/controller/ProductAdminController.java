@@ -1,12 +1,19 @@
 package nhanle.controller;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.BeanUtils;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
 import org.springframework.validation.BindingResult;
@@ -18,14 +25,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponents;
 
 import jakarta.validation.Valid;
 import nhanle.entity.Category;
 import nhanle.entity.Product;
+import nhanle.model.CategoryModel;
+import nhanle.model.ProductFilter;
 import nhanle.model.ProductModel;
+import nhanle.search.SearchMode;
 import nhanle.service.CategoryService;
+import nhanle.service.ProductCursor;
 import nhanle.service.ProductService;
+import nhanle.stats.CatalogCounters;
 import nhanle.storage.FileStorageService;
+import nhanle.support.SortRegistry;
 
 @Controller
 @RequestMapping("/admin/products")
@@ -34,12 +49,17 @@ public class ProductAdminController {
     private final ProductService productService;
     private final CategoryService categoryService;
     private final FileStorageService fileStorageService;
+    private final CatalogCounters catalogCounters;
+    private final String defaultSearchMode;
 
     public ProductAdminController(ProductService productService, CategoryService categoryService, 
-                                 FileStorageService fileStorageService) {
+                                 FileStorageService fileStorageService, CatalogCounters catalogCounters,
+                                 @Value("${app.search.mode:sql}") String defaultSearchMode) {
         this.productService = productService;
         this.categoryService = categoryService;
         this.fileStorageService = fileStorageService;
+        this.catalogCounters = catalogCounters;
+        this.defaultSearchMode = defaultSearchMode;
     }
 
     @GetMapping
@@ -49,35 +69,60 @@ public class ProductAdminController {
                       @RequestParam(value = "status", required = false) Boolean status,
                       @RequestParam(value = "page", defaultValue = "0") int page,
                       @RequestParam(value = "size", defaultValue = "10") int size,
-                      @RequestParam(value = "sort", defaultValue = "productName") String sort,
-                      @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+                      @RequestParam(value = "sort", required = false) String sort,
+                      @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                      @RequestParam(value = "after", required = false) String after,
+                      @RequestParam(value = "search", required = false) String search,
+                      @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+                      @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+                      @RequestParam(value = "minQuantity", required = false) Integer minQuantity,
+                      @RequestParam(value = "maxQuantity", required = false) Integer maxQuantity,
+                      @RequestParam(value = "createdFrom", required = false)
+                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                      @RequestParam(value = "createdTo", required = false)
+                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+                      RedirectAttributes redirectAttributes) {
 
         page = Math.max(page, 0);
         size = Math.max(Math.min(size, 100), 1);
-        Sort.Direction dir = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        PageRequest pageable = PageRequest.of(page, size, Sort.by(dir, sort));
-
-        Page<Product> result;
-        if (categoryId != null && status != null && keyword != null && !keyword.isBlank()) {
-            result = productService.findByCategoryIdAndStatusAndKeyword(categoryId, status, keyword.trim(), pageable);
-        } else if (categoryId != null && status != null) {
-            result = productService.findByCategoryIdAndStatus(categoryId, status, pageable);
-        } else if (categoryId != null && keyword != null && !keyword.isBlank()) {
-            result = productService.findByCategoryIdAndKeyword(categoryId, keyword.trim(), pageable);
-        } else if (status != null && keyword != null && !keyword.isBlank()) {
-            result = productService.findByStatusAndKeyword(status, keyword.trim(), pageable);
-        } else if (categoryId != null) {
-            result = productService.findByCategoryId(categoryId, pageable);
-        } else if (status != null) {
-            result = productService.findByStatus(status, pageable);
-        } else if (keyword != null && !keyword.isBlank()) {
-            result = productService.findByKeyword(keyword.trim(), pageable);
+        // Chỉ các khoá có index; khoá lạ (vd. description) quay về productName, luôn kèm productId
+        Sort order = SortRegistry.PRODUCTS.resolveOrDefault(sort, "productName", direction);
+        boolean sortRequested = sort != null && !sort.isBlank();
+        sort = SortRegistry.primaryKey(order);
+        PageRequest pageable = PageRequest.of(page, size, order);
+        boolean keyset = after != null && !after.isBlank() && ProductCursor.supports(order);
+
+        ProductFilter filter = new ProductFilter(categoryId, status, keyword);
+        filter.setMinPrice(minPrice);
+        filter.setMaxPrice(maxPrice);
+        filter.setMinQuantity(minQuantity);
+        filter.setMaxQuantity(maxQuantity);
+        filter.setCreatedFrom(createdFrom != null ? createdFrom.atStartOfDay() : null);
+        filter.setCreatedTo(createdTo != null ? createdTo.plusDays(1).atStartOfDay() : null);
+
+        Slice<Product> result;
+        if (keyword != null && !keyword.isBlank() && SearchMode.resolve(search, defaultSearchMode) == SearchMode.INDEX) {
+            // Chỉ mục full-text: không chọn sort thì xếp theo độ liên quan
+            result = productService.search(filter, sortRequested ? pageable : PageRequest.of(page, size));
+        } else if (keyset) {
+            // Trang sâu: đi theo cursor (nextCursor của /api/products cùng sort), không OFFSET và không COUNT
+            ScrollPosition position;
+            try {
+                position = ProductCursor.decode(after, order);
+            } catch (IllegalArgumentException e) {
+                // Cursor hỏng/bị sửa: báo lỗi rồi mới về trang đầu (giữ nguyên bộ lọc), không lặng lẽ đổi trang
+                redirectAttributes.addFlashAttribute("errorMessage", e.getMessage() + ", đã quay về trang đầu");
+                UriComponents current = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after").build();
+                return "redirect:" + current.getPath() + (current.getQuery() != null ? "?" + current.getQuery() : "");
+            }
+            Window<Product> window = productService.scroll(filter, position, size, order);
+            result = new SliceImpl<>(window.getContent(), PageRequest.of(0, size, order), window.hasNext());
         } else {
-            result = productService.findAll(pageable);
+            result = productService.findByFilter(filter, pageable);
         }
 
         // Lấy danh sách categories cho filter dropdown
-        List<Category> categories = categoryService.findByStatus(true);
+        List<CategoryModel> categories = categoryService.findByStatus(true);
 
         model.addAttribute("page", result);
         model.addAttribute("q", keyword);
@@ -85,10 +130,12 @@ public class ProductAdminController {
         model.addAttribute("status", status);
         model.addAttribute("sort", sort);
         model.addAttribute("direction", direction);
+        model.addAttribute("filter", filter);
         model.addAttribute("categories", categories);
-        model.addAttribute("totalProducts", productService.count());
-        model.addAttribute("activeProducts", productService.countByStatus(true));
-        model.addAttribute("inactiveProducts", productService.countByStatus(false));
+        // Đọc bộ đếm trong bộ nhớ thay cho 3 câu COUNT
+        model.addAttribute("totalProducts", catalogCounters.products().total());
+        model.addAttribute("activeProducts", catalogCounters.products().active());
+        model.addAttribute("inactiveProducts", catalogCounters.products().inactive());
 
         return "admin/products/list";
     }
@@ -101,7 +148,7 @@ public class ProductAdminController {
         productModel.setQuantity(0);
         
         // Lấy danh sách categories đang hoạt động
-        List<Category> categories = categoryService.findByStatus(true);
+        List<CategoryModel> categories = categoryService.findByStatus(true);
         
         model.addAttribute("product", productModel);
         model.addAttribute("categories", categories);
@@ -117,7 +164,7 @@ public class ProductAdminController {
 
         if (errors.hasErrors()) {
             // Reload categories for dropdown
-            List<Category> categories = categoryService.findByStatus(true);
+            List<CategoryModel> categories = categoryService.findByStatus(true);
             model.addAttribute("categories", categories);
             return "admin/products/add";
         }
@@ -140,7 +187,7 @@ public class ProductAdminController {
                     product.setCategory(categoryOpt.get());
                 } else {
                     errors.rejectValue("categoryId", "category.not.found", "Danh mục không tồn tại");
-                    List<Category> categories = categoryService.findByStatus(true);
+                    List<CategoryModel> categories = categoryService.findByStatus(true);
                     model.addAttribute("categories", categories);
                     return "admin/products/add";
                 }
@@ -172,7 +219,7 @@ public class ProductAdminController {
         productModel.setEdit(true);
 
         // Lấy danh sách categories đang hoạt động
-        List<Category> categories = categoryService.findByStatus(true);
+        List<CategoryModel> categories = categoryService.findByStatus(true);
 
         model.addAttribute("product", productModel);
         model.addAttribute("categories", categories);
@@ -188,7 +235,7 @@ public class ProductAdminController {
 
         if (errors.hasErrors()) {
             // Reload categories for dropdown
-            List<Category> categories = categoryService.findByStatus(true);
+            List<CategoryModel> categories = categoryService.findByStatus(true);
             model.addAttribute("categories", categories);
             return "admin/products/edit";
         }
@@ -204,7 +251,7 @@ public class ProductAdminController {
                     productToUpdate.setCategory(categoryOpt.get());
                 } else {
                     errors.rejectValue("categoryId", "category.not.found", "Danh mục không tồn tại");
-                    List<Category> categories = categoryService.findByStatus(true);
+                    List<CategoryModel> categories = categoryService.findByStatus(true);
                     model.addAttribute("categories", categories);
                     return "admin/products/edit";
                 }
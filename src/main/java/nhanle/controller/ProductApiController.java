@@ -1,13 +1,24 @@
 package nhanle.controller;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -20,13 +31,28 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import nhanle.entity.Category;
 import nhanle.entity.Product;
+import nhanle.exporter.ExportFormat;
+import nhanle.importer.ImportFormat;
+import nhanle.model.BulkStatusRequest;
+import nhanle.model.CursorPage;
+import nhanle.model.ImportResult;
+import nhanle.model.ProductFilter;
 import nhanle.model.ProductModel;
+import nhanle.search.SearchMode;
 import nhanle.service.CategoryService;
+import nhanle.service.ProductCursor;
+import nhanle.service.ProductExportService;
+import nhanle.service.ProductImportService;
 import nhanle.service.ProductService;
+import nhanle.storage.ImageUrls;
+import nhanle.support.SortRegistry;
 
 @RestController
 @RequestMapping("/api/products")
@@ -38,34 +64,82 @@ public class ProductApiController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ImageUrls imageUrls;
+
+    @Value("${app.search.mode:sql}")
+    private String defaultSearchMode;
+
     // GET all products
     @GetMapping
     public ResponseEntity<?> getAllProducts(
             @RequestParam(defaultValue = "true") Boolean status,
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = false) Long categoryId) {
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minQuantity,
+            @RequestParam(required = false) Integer maxQuantity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo) {
         
         try {
-            List<Product> products;
+            ProductFilter filter = new ProductFilter(categoryId, status, keyword);
+            filter.setMinPrice(minPrice);
+            filter.setMaxPrice(maxPrice);
+            filter.setMinQuantity(minQuantity);
+            filter.setMaxQuantity(maxQuantity);
+            filter.setCreatedFrom(createdFrom != null ? createdFrom.atStartOfDay() : null);
+            filter.setCreatedTo(createdTo != null ? createdTo.plusDays(1).atStartOfDay() : null);
+
+            // Khoá sắp xếp ngoài danh sách trắng (không có index) => 400
+            Sort order = SortRegistry.PRODUCTS.resolve(sort, direction);
+
+            // Có size hoặc after => phân trang keyset, ngược lại giữ kiểu trả về danh sách cũ
+            if (size != null || after != null) {
+                int pageSize = Math.max(Math.min(size != null ? size : 20, 100), 1);
+                Window<Product> window = productService.scroll(filter, ProductCursor.decode(after, order), pageSize, order);
+
+                List<ProductModel> content = window.getContent().stream()
+                    .map(this::convertToListModel)
+                    .collect(Collectors.toList());
+                String nextCursor = window.hasNext() && !content.isEmpty()
+                    ? ProductCursor.encode(window.getContent().get(content.size() - 1), order)
+                    : null;
+                return ResponseEntity.ok(new CursorPage<>(content, pageSize, window.hasNext(), nextCursor));
+            }
+
+            List<ProductModel> productModels;
             
-            if (categoryId != null && keyword != null && !keyword.trim().isEmpty()) {
-                products = productService.findByCategoryIdAndStatus(categoryId, status)
-                    .stream()
-                    .filter(p -> p.getProductName().toLowerCase().contains(keyword.toLowerCase()))
+            if (keyword != null && !keyword.trim().isEmpty()
+                    && SearchMode.resolve(search, defaultSearchMode) == SearchMode.INDEX) {
+                // Không truyền sort => xếp theo độ liên quan của chỉ mục
+                productModels = productService.search(filter, sort != null ? Pageable.unpaged(order) : Pageable.unpaged())
+                    .getContent().stream()
+                    .map(this::convertToListModel)
                     .collect(Collectors.toList());
-            } else if (categoryId != null) {
-                products = productService.findByCategoryIdAndStatus(categoryId, status);
-            } else if (keyword != null && !keyword.trim().isEmpty()) {
-                products = productService.findByStatusAndKeyword(status, keyword);
             } else {
-                products = productService.findByStatus(status);
+                // Projection: chỉ các cột danh sách cần, không nạp entity / không copy bằng reflection
+                productModels = productService.findSummaries(filter, Pageable.unpaged(order)).getContent();
+                productModels.forEach(this::fillThumbnail);
             }
             
-            List<ProductModel> productModels = products.stream()
-                .map(this::convertToModel)
-                .collect(Collectors.toList());
-            
             return ResponseEntity.ok(productModels);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Lỗi khi lấy danh sách sản phẩm: " + e.getMessage());
@@ -73,6 +147,28 @@ public class ProductApiController {
         }
     }
 
+    // EXPORT products: NDJSON (mặc định) hoặc CSV, ghi dần ra luồng phản hồi
+    @GetMapping("/export")
+    // Kiểu khai báo phải là StreamingResponseBody để Spring chọn handler ghi luồng (không qua converter)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) Boolean status,
+            @RequestParam(required = false) Long categoryId) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.resolve(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> productExportService.export(out, exportFormat, status, categoryId);
+        String filename = "products-" + LocalDate.now() + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     // GET product by ID
     @GetMapping("/{id}")
     public ResponseEntity<?> getProductById(@PathVariable Long id) {
@@ -126,6 +222,28 @@ public class ProductApiController {
         }
     }
 
+    // BULK IMPORT products (CSV có tiêu đề hoặc JSON lines), đọc luồng theo từng dòng
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkImport(@RequestParam(required = false) String format,
+                                        HttpServletRequest request) {
+        ImportFormat importFormat;
+        try {
+            importFormat = ImportFormat.resolve(format, request.getContentType());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(error);
+        }
+        try {
+            ImportResult result = productImportService.importProducts(request.getInputStream(), importFormat);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Lỗi khi import sản phẩm: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     // UPDATE product
     @PutMapping("/{id}")
     public ResponseEntity<?> updateProduct(@PathVariable Long id, 
@@ -235,10 +353,67 @@ public class ProductApiController {
         }
     }
 
+    // BULK STATUS: {"ids": [...], "status": true|false}
+    @PutMapping("/bulk/status")
+    public ResponseEntity<?> bulkUpdateStatus(@Valid @RequestBody BulkStatusRequest request,
+                                              BindingResult bindingResult) {
+        if (request.getStatus() == null) {
+            bindingResult.rejectValue("status", "NotNull", "Trạng thái không được để trống");
+        }
+        return bulk(bindingResult, () -> productService.updateStatus(request.getIds(), request.getStatus()),
+                request, "Lỗi khi cập nhật trạng thái hàng loạt: ");
+    }
+
+    // BULK SOFT DELETE: {"ids": [...]}
+    @DeleteMapping("/bulk")
+    public ResponseEntity<?> bulkDelete(@Valid @RequestBody BulkStatusRequest request,
+                                        BindingResult bindingResult) {
+        return bulk(bindingResult, () -> productService.updateStatus(request.getIds(), false), request, "Lỗi khi xóa hàng loạt: ");
+    }
+
+    // BULK RESTORE: {"ids": [...]}
+    @PutMapping("/bulk/restore")
+    public ResponseEntity<?> bulkRestore(@Valid @RequestBody BulkStatusRequest request,
+                                         BindingResult bindingResult) {
+        return bulk(bindingResult, () -> productService.updateStatus(request.getIds(), true),
+                request, "Lỗi khi khôi phục hàng loạt: ");
+    }
+
+    // Trả về số id yêu cầu (đã bỏ trùng) và số dòng thực sự thay đổi
+    private ResponseEntity<?> bulk(BindingResult bindingResult, IntSupplier action,
+                                   BulkStatusRequest request, String errorPrefix) {
+        if (bindingResult.hasErrors()) {
+            Map<String, String> errors = new HashMap<>();
+            bindingResult.getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage()));
+            return ResponseEntity.badRequest().body(errors);
+        }
+        try {
+            int affected = action.getAsInt();
+            Map<String, Object> response = new HashMap<>();
+            response.put("requested", request.getIds().stream().filter(Objects::nonNull).distinct().count());
+            response.put("affected", affected);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", errorPrefix + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
     // Helper methods
-    private ProductModel convertToModel(Product product) {
+    // package-private: benchmark JMH (src/jmh) gọi trực tiếp
+    ProductModel convertToModel(Product product) {
         ProductModel model = new ProductModel();
-        BeanUtils.copyProperties(product, model);
+        model.setProductId(product.getProductId());
+        model.setProductName(product.getProductName());
+        model.setDescription(product.getDescription());
+        model.setPrice(product.getPrice());
+        model.setQuantity(product.getQuantity());
+        model.setImage(product.getImage());
+        model.setStatus(product.getStatus());
+        model.setCreatedAt(product.getCreatedAt());
+        model.setUpdatedAt(product.getUpdatedAt());
         if (product.getCategory() != null) {
             model.setCategoryId(product.getCategory().getCategoryId());
             model.setCategoryName(product.getCategory().getCategoryName());
@@ -246,6 +421,19 @@ public class ProductApiController {
         return model;
     }
 
+    // Cùng dạng với projection findSummaries: danh sách không kèm mô tả
+    private ProductModel convertToListModel(Product product) {
+        ProductModel model = convertToModel(product);
+        model.setDescription(null);
+        fillThumbnail(model);
+        return model;
+    }
+
+    // Bảng danh sách hiển thị ảnh 50px: trỏ tới bản thu nhỏ thay vì tải ảnh gốc
+    private void fillThumbnail(ProductModel model) {
+        model.setThumbnail(imageUrls.url(model.getImage(), "thumb"));
+    }
+
     private Product convertToEntity(ProductModel model) {
         Product product = new Product();
         BeanUtils.copyProperties(model, product, "categoryId", "categoryName");
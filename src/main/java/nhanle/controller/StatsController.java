@@ -0,0 +1,40 @@
+package nhanle.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import nhanle.stats.CatalogCounters;
+import nhanle.stats.StatusCounters;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    private final CatalogCounters counters;
+
+    public StatsController(CatalogCounters counters) {
+        this.counters = counters;
+    }
+
+    // Toàn bộ số liệu đếm trong một lần gọi, không chạm DB
+    @GetMapping
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("products", toMap(counters.products()));
+        result.put("categories", toMap(counters.categories()));
+        result.put("reconciledAt", counters.getReconciledAt());
+        return result;
+    }
+
+    private Map<String, Long> toMap(StatusCounters c) {
+        Map<String, Long> m = new LinkedHashMap<>();
+        m.put("total", c.total());
+        m.put("active", c.active());
+        m.put("inactive", c.inactive());
+        return m;
+    }
+}
@@ -0,0 +1,55 @@
+package nhanle.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import nhanle.storage.ImageUploadService;
+import nhanle.storage.ImageUrls;
+import nhanle.storage.UploadRejectedException;
+
+// Upload ảnh bằng body thô (không multipart): dữ liệu được ghi vào kho ngay khi tới,
+// không đệm cả file trong bộ nhớ/đĩa tạm như multipart. Tên trả về dùng cho image/icon.
+@RestController
+@RequestMapping("/api/uploads")
+public class UploadApiController {
+
+    private final ImageUploadService imageUploadService;
+    private final ImageUrls imageUrls;
+
+    public UploadApiController(ImageUploadService imageUploadService, ImageUrls imageUrls) {
+        this.imageUploadService = imageUploadService;
+        this.imageUrls = imageUrls;
+    }
+
+    // POST /api/uploads/images  (Content-Type: image/*, body = nội dung file)
+    @PostMapping("/images")
+    public ResponseEntity<?> uploadImage(HttpServletRequest request) {
+        try {
+            String filename = imageUploadService.upload(request.getInputStream(), request.getContentLengthLong());
+            Map<String, Object> response = new HashMap<>();
+            response.put("filename", filename);
+            response.put("url", imageUrls.url(filename));
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (UploadRejectedException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(e.getStatus());
+            if (e.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+                builder.header(HttpHeaders.RETRY_AFTER, "1");
+            }
+            return builder.body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Lỗi khi upload ảnh: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+}
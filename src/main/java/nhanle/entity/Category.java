@@ -15,6 +15,10 @@ public class Category implements Serializable {
   @Column(name="category_name", length=200, nullable=false, unique=true)
   private String categoryName;
 
+  // Cột sinh LOWER(category_name) do DB tính (migration V2), có unique index: tra tên không phân biệt hoa thường
+  @Column(name="category_name_lower", length=200, insertable=false, updatable=false)
+  private String categoryNameLower;
+
   @Column(length=500)
   private String description;
 
@@ -47,6 +51,8 @@ public class Category implements Serializable {
   public String getCategoryName() { return categoryName; }
   public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
 
+  public String getCategoryNameLower() { return categoryNameLower; }
+
   public String getDescription() { return description; }
   public void setDescription(String description) { this.description = description; }
 
@@ -14,14 +14,18 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "products")
 public class Product implements Serializable {
 
+    // Sequence pooled (cấp 50 id mỗi lần gọi) để Hibernate gom INSERT thành JDBC batch;
+    // IDENTITY buộc chèn từng dòng. DB không có sequence thì Hibernate dùng bảng thay thế.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long productId;
 
     @Column(name = "product_name", length = 200, nullable = false)
@@ -0,0 +1,61 @@
+package nhanle.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import nhanle.entity.Product;
+
+// Cùng tên cột với CsvProductReader nên file export có thể import lại
+public class CsvProductWriter implements ProductRecordWriter {
+
+    private static final String HEADER =
+            "productId,productName,description,price,quantity,image,status,categoryId,categoryName,createdAt,updatedAt";
+
+    private final Writer out;
+
+    public CsvProductWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(HEADER);
+        out.write("\r\n");
+    }
+
+    @Override
+    public void write(Product p) throws IOException {
+        field(p.getProductId()).sep();
+        field(p.getProductName()).sep();
+        field(p.getDescription()).sep();
+        field(p.getPrice() != null ? p.getPrice().toPlainString() : null).sep();
+        field(p.getQuantity()).sep();
+        field(p.getImage()).sep();
+        field(p.getStatus()).sep();
+        field(p.getCategory() != null ? p.getCategory().getCategoryId() : null).sep();
+        field(p.getCategory() != null ? p.getCategory().getCategoryName() : null).sep();
+        field(p.getCreatedAt()).sep();
+        field(p.getUpdatedAt());
+        out.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private CsvProductWriter sep() throws IOException {
+        out.write(',');
+        return this;
+    }
+
+    // RFC 4180: bọc ngoặc kép khi có dấu phẩy, ngoặc kép hoặc xuống dòng
+    private CsvProductWriter field(Object value) throws IOException {
+        if (value == null) return this;
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            out.write('"');
+            out.write(text.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(text);
+        }
+        return this;
+    }
+}
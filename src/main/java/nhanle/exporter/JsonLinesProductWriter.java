@@ -0,0 +1,48 @@
+package nhanle.exporter;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import nhanle.entity.Product;
+
+// Mỗi sản phẩm một object JSON trên một dòng, cùng tên trường với ProductModel
+public class JsonLinesProductWriter implements ProductRecordWriter {
+
+    private final JsonGenerator json;
+
+    public JsonLinesProductWriter(Writer out, ObjectMapper objectMapper) throws IOException {
+        this.json = objectMapper.getFactory().createGenerator(out);
+        // Luồng phản hồi do container quản lý, không đóng ở đây
+        this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Tự xuống dòng giữa các object thay cho dấu cách mặc định
+        this.json.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(Product p) throws IOException {
+        json.writeStartObject();
+        json.writeObjectField("productId", p.getProductId());
+        json.writeStringField("productName", p.getProductName());
+        json.writeStringField("description", p.getDescription());
+        json.writeObjectField("price", p.getPrice());
+        json.writeObjectField("quantity", p.getQuantity());
+        json.writeStringField("image", p.getImage());
+        json.writeObjectField("status", p.getStatus());
+        if (p.getCategory() != null) {
+            json.writeObjectField("categoryId", p.getCategory().getCategoryId());
+            json.writeStringField("categoryName", p.getCategory().getCategoryName());
+        }
+        json.writeStringField("createdAt", p.getCreatedAt() != null ? p.getCreatedAt().toString() : null);
+        json.writeStringField("updatedAt", p.getUpdatedAt() != null ? p.getUpdatedAt().toString() : null);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        json.flush();
+    }
+}
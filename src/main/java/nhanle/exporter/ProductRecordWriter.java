@@ -0,0 +1,12 @@
+package nhanle.exporter;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+import nhanle.entity.Product;
+
+// Ghi tuần tự từng sản phẩm ra luồng, không giữ lại dòng nào trong bộ nhớ
+public interface ProductRecordWriter extends Flushable {
+
+    void write(Product product) throws IOException;
+}
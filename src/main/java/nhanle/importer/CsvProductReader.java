@@ -0,0 +1,121 @@
+package nhanle.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import nhanle.model.ProductModel;
+
+/**
+ * CSV có dòng tiêu đề (RFC 4180: trường trong dấu ngoặc kép được chứa dấu phẩy,
+ * xuống dòng và "" để thoát). Cột nhận diện theo tên, không phân biệt hoa thường:
+ * productName, description, price, quantity, categoryId, status, image.
+ */
+public class CsvProductReader implements ProductRecordReader {
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long row;
+
+    public CsvProductReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        if (columns == null) {
+            List<String> header = readFields();
+            if (header == null) return null;
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim();
+                if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1);
+                columns.put(name.toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        List<String> fields;
+        do {
+            fields = readFields();
+            if (fields == null) return null;
+            row++;
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        try {
+            ProductModel model = new ProductModel();
+            model.setProductName(get(fields, "productname"));
+            model.setDescription(get(fields, "description"));
+            model.setImage(get(fields, "image"));
+            String price = get(fields, "price");
+            model.setPrice(price != null ? new BigDecimal(price) : null);
+            String quantity = get(fields, "quantity");
+            model.setQuantity(quantity != null ? Integer.valueOf(quantity) : null);
+            String categoryId = get(fields, "categoryid");
+            model.setCategoryId(categoryId != null ? Long.valueOf(categoryId) : null);
+            String status = get(fields, "status");
+            model.setStatus(status != null ? Boolean.valueOf(status) : Boolean.TRUE);
+            return ImportRecord.ok(row, model);
+        } catch (NumberFormatException e) {
+            return ImportRecord.failed(row, "Giá trị số không hợp lệ: " + e.getMessage());
+        }
+    }
+
+    private String get(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) return null;
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Một bản ghi CSV (có thể trải nhiều dòng vật lý); null khi hết luồng
+    private List<String> readFields() throws IOException {
+        int c = reader.read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int n = reader.read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,24 @@
+package nhanle.importer;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV, JSON_LINES;
+
+    // Ưu tiên tham số ?format=, sau đó tới Content-Type của request
+    public static ImportFormat resolve(String format, String contentType) {
+        String value = format != null && !format.isBlank() ? format : contentType;
+        if (value == null) {
+            throw new IllegalArgumentException("Thiếu định dạng import (csv hoặc jsonl)");
+        }
+        String v = value.toLowerCase(Locale.ROOT);
+        if (v.equals("csv") || v.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (v.equals("jsonl") || v.equals("ndjson") || v.startsWith("application/x-ndjson")
+                || v.startsWith("application/jsonl") || v.startsWith("application/json-lines")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("Định dạng import không hỗ trợ: " + value);
+    }
+}
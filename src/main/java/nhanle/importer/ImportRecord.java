@@ -0,0 +1,15 @@
+package nhanle.importer;
+
+import nhanle.model.ProductModel;
+
+// Một dòng dữ liệu đã đọc: model (nếu đọc được) hoặc lỗi phân tích cú pháp
+public record ImportRecord(long row, ProductModel model, String error) {
+
+    static ImportRecord ok(long row, ProductModel model) {
+        return new ImportRecord(row, model, null);
+    }
+
+    static ImportRecord failed(long row, String error) {
+        return new ImportRecord(row, null, error);
+    }
+}
@@ -0,0 +1,42 @@
+package nhanle.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import nhanle.model.ProductModel;
+
+// Mỗi dòng là một object JSON theo các trường của ProductModel; dòng trống bị bỏ qua
+public class JsonLinesProductReader implements ProductRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    public JsonLinesProductReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) continue;
+            try {
+                return ImportRecord.ok(line, objectMapper.readValue(text, ProductModel.class));
+            } catch (JsonProcessingException e) {
+                return ImportRecord.failed(line, "JSON không hợp lệ: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,14 @@
+package nhanle.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Đọc tuần tự từng dòng sản phẩm từ luồng import, không nạp cả file vào bộ nhớ.
+ * Dòng hỏng được trả về dưới dạng {@link ImportRecord} có lỗi thay vì ném ngoại lệ.
+ */
+public interface ProductRecordReader extends Closeable {
+
+    // null khi hết dữ liệu
+    ImportRecord next() throws IOException;
+}
@@ -0,0 +1,53 @@
+package nhanle.metrics;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Gauge {@code app.db.pool.*} (active, idle, pending, max, usage) cho mọi pool Hikari, kể cả
+ * pool replica mà auto-config của Spring Boot không thấy. Thời gian chờ lấy connection có sẵn
+ * ở timer {@code hikaricp.connections.acquire} của Spring Boot.
+ */
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private final Supplier<List<HikariDataSource>> pools;
+
+    public ConnectionPoolMetrics(Supplier<List<HikariDataSource>> pools) {
+        this.pools = pools;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (HikariDataSource pool : pools.get()) {
+            gauge(registry, pool, "active", "Connection đang được mượn", HikariPoolMXBean::getActiveConnections);
+            gauge(registry, pool, "idle", "Connection rảnh", HikariPoolMXBean::getIdleConnections);
+            gauge(registry, pool, "pending", "Thread đang chờ connection", HikariPoolMXBean::getThreadsAwaitingConnection);
+            Gauge.builder("app.db.pool.max", pool, HikariDataSource::getMaximumPoolSize)
+                    .description("Kích thước tối đa của pool")
+                    .tag("pool", pool.getPoolName())
+                    .register(registry);
+            gauge(registry, pool, "usage", "Tỉ lệ connection đang dùng / tối đa",
+                    mx -> mx.getActiveConnections() / (double) Math.max(1, pool.getMaximumPoolSize()));
+        }
+    }
+
+    // Pool chưa khởi động (chưa có connection nào) thì MXBean null => NaN
+    private static void gauge(MeterRegistry registry, HikariDataSource pool, String name, String description,
+                              ToDoubleFunction<HikariPoolMXBean> value) {
+        Gauge.builder("app.db.pool." + name, pool, ds -> {
+                    HikariPoolMXBean mx = ds.getHikariPoolMXBean();
+                    return mx != null ? value.applyAsDouble(mx) : Double.NaN;
+                })
+                .description(description)
+                .tag("pool", pool.getPoolName())
+                .register(registry);
+    }
+}
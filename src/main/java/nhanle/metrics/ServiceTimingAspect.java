@@ -0,0 +1,122 @@
+package nhanle.metrics;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import nhanle.model.ProductFilter;
+
+/**
+ * Timer {@code app.service} cho mọi lời gọi bean trong nhanle.service và nhanle.storage
+ * (kể cả các BlobStore), gắn tag:
+ * <ul>
+ * <li>class, method;</li>
+ * <li>filter: tổ hợp điều kiện đang được dùng (trường khác null của ProductFilter hoặc tên
+ * các tham số khác null), để biết tổ hợp lọc nào chậm;</li>
+ * <li>result: nhóm kích thước kết quả (0, 1, 2-10, 11-100, 101-1000, &gt;1000);</li>
+ * <li>exception: tên lớp lỗi hoặc none.</li>
+ * </ul>
+ * Truy vấn repository đã có timer {@code spring.data.repository.invocations} của Spring Boot,
+ * endpoint có {@code http.server.requests}. ImageUrls bị loại vì được gọi cho từng dòng của template.
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    private final MeterRegistry registry;
+
+    public ServiceTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("(within(nhanle.service..*) || within(nhanle.storage..*)) && !within(nhanle.storage.ImageUrls)")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        Object result = null;
+        String exception = "none";
+        try {
+            result = pjp.proceed();
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            MethodSignature signature = (MethodSignature) pjp.getSignature();
+            sample.stop(Timer.builder("app.service")
+                    .description("Thời gian các lời gọi service/storage")
+                    .tag("class", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag("filter", filterTag(signature, pjp.getArgs()))
+                    .tag("result", exception.equals("none") ? sizeTag(result) : "error")
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    // Chỉ tên tham số (không giá trị) để số tổ hợp tag luôn hữu hạn
+    static String filterTag(MethodSignature signature, Object[] args) {
+        String[] names = signature.getParameterNames();
+        StringJoiner joiner = new StringJoiner("+");
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null || arg instanceof Pageable || arg instanceof Sort || arg instanceof ScrollPosition
+                    || arg instanceof MultipartFile || arg instanceof InputStream) {
+                continue;
+            }
+            if (arg instanceof ProductFilter filter) {
+                describe(filter, joiner);
+            } else if (!(arg instanceof String s) || !s.isBlank()) {
+                joiner.add(names != null && i < names.length ? names[i] : "arg" + i);
+            }
+        }
+        return joiner.length() == 0 ? "none" : joiner.toString();
+    }
+
+    private static void describe(ProductFilter f, StringJoiner joiner) {
+        if (f.getCategoryId() != null) joiner.add("categoryId");
+        if (f.getStatus() != null) joiner.add("status");
+        if (f.getKeyword() != null && !f.getKeyword().isBlank()) joiner.add("keyword");
+        if (f.getMinPrice() != null || f.getMaxPrice() != null) joiner.add("price");
+        if (f.getMinQuantity() != null || f.getMaxQuantity() != null) joiner.add("quantity");
+        if (f.getCreatedFrom() != null || f.getCreatedTo() != null) joiner.add("createdAt");
+    }
+
+    static String sizeTag(Object result) {
+        long size;
+        if (result instanceof Slice<?> slice) {
+            size = slice.getNumberOfElements();
+        } else if (result instanceof Window<?> window) {
+            size = window.size();
+        } else if (result instanceof Collection<?> collection) {
+            size = collection.size();
+        } else if (result instanceof Map<?, ?> map) {
+            size = map.size();
+        } else if (result instanceof Optional<?> optional) {
+            size = optional.isPresent() ? 1 : 0;
+        } else {
+            return "none";
+        }
+        if (size == 0) return "0";
+        if (size == 1) return "1";
+        if (size <= 10) return "2-10";
+        if (size <= 100) return "11-100";
+        if (size <= 1000) return "101-1000";
+        return ">1000";
+    }
+}
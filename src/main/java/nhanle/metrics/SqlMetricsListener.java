@@ -0,0 +1,131 @@
+package nhanle.metrics;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Nghe mọi câu lệnh đi qua DataSource proxy:
+ * <ul>
+ * <li>cộng vào thống kê của request hiện tại (SqlRequestStats);</li>
+ * <li>timer {@code app.sql} theo loại câu lệnh (select/insert/update/delete/other);</li>
+ * <li>câu chạy lâu hơn ngưỡng: log WARN kèm tham số đã bind và hàm nhanle.* đã gọi nó;</li>
+ * <li>DEBUG cho logger này thì in mọi câu (thay cho spring.jpa.show-sql).</li>
+ * </ul>
+ */
+public class SqlMetricsListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetricsListener.class);
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final long slowThresholdMillis;
+    private volatile MeterRegistry registry;
+
+    // Registry lấy muộn: DataSource được bọc trước khi các bean đo lường sẵn sàng
+    public SqlMetricsListener(ObjectProvider<MeterRegistry> registryProvider, long slowThresholdMillis) {
+        this.registryProvider = registryProvider;
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.executed(elapsed);
+        }
+
+        MeterRegistry meters = registry();
+        if (meters != null) {
+            Timer.builder("app.sql")
+                    .description("Thời gian thực thi câu lệnh JDBC")
+                    .tag("type", type(queryInfoList))
+                    .tag("batch", String.valueOf(execInfo.isBatch()))
+                    .tag("success", String.valueOf(execInfo.isSuccess()))
+                    .register(meters)
+                    .record(elapsed, TimeUnit.MILLISECONDS);
+        }
+
+        if (elapsed >= slowThresholdMillis) {
+            log.warn("SQL chậm {} ms tại {}{}: {}", elapsed, caller(),
+                    execInfo.isBatch() ? " (batch " + execInfo.getBatchSize() + ")" : "", describe(queryInfoList));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} ms: {}", elapsed, describe(queryInfoList));
+        }
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry current = registry;
+        if (current == null) {
+            current = registryProvider.getIfAvailable();
+            registry = current;
+        }
+        return current;
+    }
+
+    private static String type(List<QueryInfo> queries) {
+        if (queries.isEmpty()) return "other";
+        String sql = queries.get(0).getQuery().stripLeading();
+        int space = sql.indexOf(' ');
+        String verb = (space > 0 ? sql.substring(0, space) : sql).toLowerCase();
+        return switch (verb) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete", "merge" -> verb;
+            default -> "other";
+        };
+    }
+
+    // Câu SQL kèm các bộ tham số (tối đa 5 bộ cho batch)
+    private static String describe(List<QueryInfo> queries) {
+        StringJoiner out = new StringJoiner(" | ");
+        for (QueryInfo query : queries) {
+            StringBuilder sb = new StringBuilder(query.getQuery());
+            List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+            int shown = 0;
+            for (List<ParameterSetOperation> set : parameterSets) {
+                if (shown++ == 5) {
+                    sb.append(" ... (").append(parameterSets.size()).append(" bộ)");
+                    break;
+                }
+                StringJoiner values = new StringJoiner(", ", " [", "]");
+                for (ParameterSetOperation op : set) {
+                    Object[] args = op.getArgs();
+                    boolean isNull = "setNull".equals(op.getMethod().getName());
+                    values.add(isNull ? "null" : args.length > 1 ? String.valueOf(args[1]) : "?");
+                }
+                sb.append(values);
+            }
+            out.add(sb);
+        }
+        return out.toString();
+    }
+
+    // Hàm đầu tiên của ứng dụng trên stack (bỏ proxy CGLIB và chính lớp đo lường); chỉ tính khi câu chậm
+    private static String caller() {
+        Optional<String> frame = StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("nhanle.")
+                        && !f.getClassName().startsWith("nhanle.metrics.")
+                        && !f.getClassName().startsWith("nhanle.config.")
+                        && !f.getClassName().contains("$$"))
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                        + "." + f.getMethodName() + ":" + f.getLineNumber())
+                .findFirst());
+        return frame.orElse("?");
+    }
+}
@@ -0,0 +1,40 @@
+package nhanle.metrics;
+
+// Số câu SQL và tổng thời gian DB của request đang chạy trên thread hiện tại
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long elapsedMillis;
+
+    private SqlRequestStats() {}
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // null ngoài request (job nền, khởi động, export chạy trên thread async)
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void executed(long millis) {
+        statements++;
+        elapsedMillis += millis;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package nhanle.model;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+// Thân request cho các thao tác hàng loạt: danh sách id (+ trạng thái đích nếu cần)
+public class BulkStatusRequest {
+
+    @NotEmpty(message = "Danh sách ID không được trống")
+    @Size(max = 10000, message = "Tối đa 10000 ID mỗi lần")
+    private List<Long> ids;
+
+    private Boolean status;
+
+    public BulkStatusRequest() {}
+
+    // ===== Getter & Setter =====
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Boolean getStatus() {
+        return status;
+    }
+
+    public void setStatus(Boolean status) {
+        this.status = status;
+    }
+}
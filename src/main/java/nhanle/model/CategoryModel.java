@@ -25,6 +25,20 @@ public class CategoryModel {
   
   private Long productCount; // For API responses
 
+  public CategoryModel() {}
+
+  // Dùng cho truy vấn projection danh sách (SELECT new ...)
+  public CategoryModel(Long categoryId, String categoryName, String description, String icon,
+                       Boolean status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    this.categoryId = categoryId;
+    this.categoryName = categoryName;
+    this.description = description;
+    this.icon = icon;
+    this.status = status;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+  }
+
   // ===== Getter & Setter =====
   public Long getCategoryId() { return categoryId; }
   public void setCategoryId(Long categoryId) { this.categoryId = categoryId; }
@@ -0,0 +1,67 @@
+package nhanle.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Kết quả import hàng loạt: số dòng thành công và lỗi theo từng dòng
+public class ImportResult {
+
+    // Chỉ giữ chi tiết cho chừng này lỗi đầu tiên, các lỗi sau chỉ được đếm
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void rowRead() {
+        totalRows++;
+    }
+
+    public void imported(long count) {
+        imported += count;
+    }
+
+    public void failed(long row, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    // ===== Getter =====
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public static class RowError {
+
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package nhanle.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
@@ -18,6 +20,8 @@ public class ProductModel {
     @Size(max = 200, message = "Tên sản phẩm không được vượt quá 200 ký tự")
     private String productName;
     
+    // Danh sách không trả mô tả (cột TEXT): field vắng mặt thay vì null; chi tiết lấy qua /api/products/{id}
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
     
     @NotNull(message = "Giá sản phẩm không được để trống")
@@ -31,6 +35,10 @@ public class ProductModel {
     
     private String image;
     
+    // URL bản thu nhỏ cho bảng danh sách (chỉ điền ở các đường danh sách)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String thumbnail;
+    
     private Boolean status = true;
     
     @NotNull(message = "Danh mục không được để trống")
@@ -55,6 +63,22 @@ public class ProductModel {
         this.categoryId = categoryId;
     }
 
+    // Dùng cho truy vấn projection danh sách (SELECT new ...), bỏ qua cột description
+    public ProductModel(Long productId, String productName, BigDecimal price, Integer quantity, String image,
+                        Boolean status, Long categoryId, String categoryName,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.productId = productId;
+        this.productName = productName;
+        this.price = price;
+        this.quantity = quantity;
+        this.image = image;
+        this.status = status;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // ===== Getter & Setter =====
     public Long getProductId() {
         return productId;
@@ -104,6 +128,14 @@ public class ProductModel {
         this.image = image;
     }
 
+    public String getThumbnail() {
+        return thumbnail;
+    }
+
+    public void setThumbnail(String thumbnail) {
+        this.thumbnail = thumbnail;
+    }
+
     public Boolean getStatus() {
         return status;
     }
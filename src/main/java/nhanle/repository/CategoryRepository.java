@@ -1,56 +1,55 @@
 package nhanle.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import nhanle.entity.Category;
 
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category>,
+    CategoryRepositoryCustom {
 
-  // Tìm theo tên
-  Page<Category> findByCategoryNameContainingIgnoreCase(String name, Pageable pageable);
+  // Lọc trạng thái / từ khoá đi qua CategorySpecifications (JpaSpecificationExecutor)
 
-  // Tìm theo mô tả
-  Page<Category> findByDescriptionContainingIgnoreCase(String description, Pageable pageable);
+  // So trên cột sinh category_name_lower (có unique index) thay vì UPPER(category_name) phải quét bảng
+  @Query("SELECT COUNT(c) > 0 FROM Category c WHERE c.categoryNameLower = LOWER(:name)")
+  boolean existsByCategoryNameIgnoreCase(@Param("name") String categoryName);
 
-  // Tìm theo từ khoá (tên hoặc mô tả)
   @Query("""
-         SELECT c FROM Category c
-         WHERE LOWER(c.categoryName) LIKE LOWER(CONCAT('%', :kw, '%'))
-            OR LOWER(c.description)  LIKE LOWER(CONCAT('%', :kw, '%'))
+         SELECT COUNT(c) > 0 FROM Category c
+         WHERE c.categoryNameLower = LOWER(:name) AND c.categoryId <> :id
          """)
-  Page<Category> searchByKeyword(@Param("kw") String keyword, Pageable pageable);
+  boolean existsByCategoryNameIgnoreCaseAndCategoryIdNot(@Param("name") String name,
+                                                         @Param("id") Long id);
 
-  // Theo trạng thái
-  Page<Category> findByStatus(Boolean status, Pageable pageable);
+  long countByStatus(Boolean status);
 
-  // Trạng thái + từ khoá
-  @Query("""
-         SELECT c FROM Category c
-         WHERE c.status = :status AND (
-           LOWER(c.categoryName) LIKE LOWER(CONCAT('%', :kw, '%'))
-           OR LOWER(c.description) LIKE LOWER(CONCAT('%', :kw, '%'))
-         )
-         """)
-  Page<Category> findByStatusAndKeyword(@Param("status") Boolean status,
-                                        @Param("kw") String keyword,
-                                        Pageable pageable);
+  @Query("SELECT c.status FROM Category c WHERE c.categoryId = :id")
+  Boolean findStatusById(@Param("id") Long id);
 
-  boolean existsByCategoryNameIgnoreCase(String categoryName);
+  // Số tham chiếu tới từng ảnh trong kho nội dung (đường dẫn bắt đầu bằng :prefix)
+  @Query("SELECT c.icon AS name, COUNT(c) AS refs FROM Category c WHERE c.icon LIKE CONCAT(:prefix, '%') GROUP BY c.icon")
+  List<ImageReference> countImageReferences(@Param("prefix") String prefix);
 
+  // Cập nhật trạng thái hàng loạt, chỉ chạm dòng đang khác trạng thái đích
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Category c SET c.status = :status, c.updatedAt = :now WHERE c.categoryId IN :ids AND c.status <> :status")
+  int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Boolean status,
+      @Param("now") LocalDateTime now);
+
+  // Trong danh sách, các danh mục đang hoạt động và không còn sản phẩm (được phép xoá mềm)
   @Query("""
-         SELECT COUNT(c) > 0 FROM Category c
-         WHERE LOWER(c.categoryName) = LOWER(:name) AND c.categoryId <> :id
+         SELECT c.categoryId FROM Category c
+         WHERE c.categoryId IN :ids AND c.status = true
+           AND NOT EXISTS (SELECT p.productId FROM Product p WHERE p.category = c)
          """)
-  boolean existsByCategoryNameIgnoreCaseAndCategoryIdNot(@Param("name") String name,
-                                                         @Param("id") Long id);
-
-  long countByStatus(Boolean status);
+  List<Long> findDeletableIds(@Param("ids") Collection<Long> ids);
 
   List<Category> findTop10ByOrderByCreatedAtDesc();
   
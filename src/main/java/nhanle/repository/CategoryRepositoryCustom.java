@@ -0,0 +1,14 @@
+package nhanle.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import nhanle.entity.Category;
+import nhanle.model.CategoryModel;
+
+public interface CategoryRepositoryCustom {
+
+  // Map thẳng vào CategoryModel bằng SELECT new, không tạo entity được quản lý
+  Page<CategoryModel> findSummaries(Specification<Category> spec, Pageable pageable);
+}
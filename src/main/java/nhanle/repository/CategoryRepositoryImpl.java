@@ -0,0 +1,63 @@
+package nhanle.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import nhanle.entity.Category;
+import nhanle.model.CategoryModel;
+
+public class CategoryRepositoryImpl implements CategoryRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public Page<CategoryModel> findSummaries(Specification<Category> spec, Pageable pageable) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<CategoryModel> query = cb.createQuery(CategoryModel.class);
+    Root<Category> root = query.from(Category.class);
+
+    query.select(cb.construct(CategoryModel.class,
+        root.get("categoryId"), root.get("categoryName"), root.get("description"), root.get("icon"),
+        root.get("status"), root.get("createdAt"), root.get("updatedAt")));
+    Predicate where = spec != null ? spec.toPredicate(root, query, cb) : null;
+    if (where != null) {
+      query.where(where);
+    }
+    if (pageable.getSort().isSorted()) {
+      query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+    }
+
+    TypedQuery<CategoryModel> typed = entityManager.createQuery(query);
+    if (pageable.isPaged()) {
+      typed.setFirstResult((int) pageable.getOffset());
+      typed.setMaxResults(pageable.getPageSize());
+    }
+    List<CategoryModel> content = typed.getResultList();
+    return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+  }
+
+  private long count(Specification<Category> spec) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Category> root = query.from(Category.class);
+    query.select(cb.count(root));
+    Predicate where = spec != null ? spec.toPredicate(root, query, cb) : null;
+    if (where != null) {
+      query.where(where);
+    }
+    return entityManager.createQuery(query).getSingleResult();
+  }
+}
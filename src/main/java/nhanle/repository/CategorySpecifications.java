@@ -0,0 +1,30 @@
+package nhanle.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import nhanle.entity.Category;
+
+public final class CategorySpecifications {
+
+  private CategorySpecifications() {}
+
+  public static Specification<Category> hasStatus(Boolean status) {
+    return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+  }
+
+  // Tìm theo tên hoặc mô tả
+  public static Specification<Category> hasKeyword(String keyword) {
+    return (root, query, cb) -> {
+      if (keyword == null || keyword.isBlank()) {
+        return null;
+      }
+      String pattern = "%" + keyword.trim().toLowerCase() + "%";
+      return cb.or(cb.like(cb.lower(root.get("categoryName")), pattern),
+          cb.like(cb.lower(root.get("description")), pattern));
+    };
+  }
+
+  public static Specification<Category> filter(Boolean status, String keyword) {
+    return Specification.allOf(hasStatus(status), hasKeyword(keyword));
+  }
+}
@@ -0,0 +1,9 @@
+package nhanle.repository;
+
+// Projection: tên file ảnh và số dòng đang tham chiếu tới nó
+public interface ImageReference {
+
+    String getName();
+
+    Long getRefs();
+}
@@ -1,57 +1,100 @@
 package nhanle.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import nhanle.entity.Category;
+import jakarta.persistence.QueryHint;
 import nhanle.entity.Product;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-    
-    List<Product> findByStatus(Boolean status);
-    
-    List<Product> findByCategoryAndStatus(Category category, Boolean status);
-    
-    List<Product> findByProductNameContainingIgnoreCase(String productName);
-    
-    @Query("SELECT p FROM Product p WHERE p.status = :status AND p.productName LIKE %:keyword%")
-    List<Product> findByStatusAndKeyword(@Param("status") Boolean status, @Param("keyword") String keyword);
-    
-    @Query("SELECT p FROM Product p WHERE p.category.categoryId = :categoryId AND p.status = :status")
-    List<Product> findByCategoryIdAndStatus(@Param("categoryId") Long categoryId, @Param("status") Boolean status);
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
+
+    // Mọi truy vấn trả danh sách đều fetch luôn category (tránh N+1 khi hiển thị categoryName)
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAllById(Iterable<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAll(Specification<Product> spec);
     
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category.categoryId = :categoryId")
     Long countByCategoryId(@Param("categoryId") Long categoryId);
     
-    // Pageable methods
-    Page<Product> findByStatus(Boolean status, Pageable pageable);
-    
-    @Query("SELECT p FROM Product p WHERE p.productName LIKE %:keyword% OR p.description LIKE %:keyword%")
-    Page<Product> findByProductNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
-        @Param("keyword") String productName, @Param("keyword") String description, Pageable pageable);
+    // Đếm sản phẩm của mọi danh mục trong một câu GROUP BY category_id
+    @Query("SELECT p.category.categoryId AS categoryId, COUNT(p) AS productCount FROM Product p GROUP BY p.category.categoryId")
+    List<CategoryCount> countGroupByCategory();
     
-    @Query("SELECT p FROM Product p WHERE p.status = :status AND (p.productName LIKE %:keyword% OR p.description LIKE %:keyword%)")
-    Page<Product> findByStatusAndKeyword(@Param("status") Boolean status, @Param("keyword") String keyword, Pageable pageable);
+    // Số tham chiếu tới từng ảnh trong kho nội dung (đường dẫn bắt đầu bằng :prefix)
+    @Query("SELECT p.image AS name, COUNT(p) AS refs FROM Product p WHERE p.image LIKE CONCAT(:prefix, '%') GROUP BY p.image")
+    List<ImageReference> countImageReferences(@Param("prefix") String prefix);
     
-    @Query("SELECT p FROM Product p WHERE p.category.categoryId = :categoryId AND p.status = :status")
-    Page<Product> findByCategoryIdAndStatus(@Param("categoryId") Long categoryId, @Param("status") Boolean status, Pageable pageable);
+    // Trạng thái + danh mục hiện tại trong DB, để các hàm ghi cập nhật bộ đếm
+    @Query("SELECT p.status AS status, p.category.categoryId AS categoryId FROM Product p WHERE p.productId = :id")
+    Optional<ProductState> findStateById(@Param("id") Long id);
     
-    @Query("SELECT p FROM Product p WHERE p.category.categoryId = :categoryId")
-    Page<Product> findByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    // Đọc tuần tự bằng cursor cho export: fetch size để driver không nạp hết kết quả,
+    // read-only để Hibernate không giữ snapshot dirty-check (MySQL cần useCursorFetch=true)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p JOIN FETCH p.category "
+            + "WHERE (:status IS NULL OR p.status = :status) "
+            + "AND (:categoryId IS NULL OR p.category.categoryId = :categoryId) "
+            + "ORDER BY p.productId")
+    Stream<Product> streamForExport(@Param("status") Boolean status, @Param("categoryId") Long categoryId);
     
-    @Query("SELECT p FROM Product p WHERE p.category.categoryId = :categoryId AND (p.productName LIKE %:keyword% OR p.description LIKE %:keyword%)")
-    Page<Product> findByCategoryIdAndKeyword(@Param("categoryId") Long categoryId, @Param("keyword") String keyword, Pageable pageable);
-    
-    @Query("SELECT p FROM Product p WHERE p.category.categoryId = :categoryId AND p.status = :status AND (p.productName LIKE %:keyword% OR p.description LIKE %:keyword%)")
-    Page<Product> findByCategoryIdAndStatusAndKeyword(@Param("categoryId") Long categoryId, @Param("status") Boolean status, @Param("keyword") String keyword, Pageable pageable);
+    // Một câu UPDATE cho cả danh sách id; chỉ chạm dòng đang khác trạng thái đích nên
+    // số dòng trả về đúng bằng số dòng thực sự chuyển trạng thái, kể cả khi chạy song song
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.status = :status, p.updatedAt = :now WHERE p.productId IN :ids AND p.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Boolean status,
+                           @Param("now") LocalDateTime now);
     
     @Query("SELECT COUNT(p) FROM Product p WHERE p.status = :status")
     Long countByStatus(@Param("status") Boolean status);
+    
+    interface CategoryCount {
+        Long getCategoryId();
+        Long getProductCount();
+    }
+    
+    interface ProductState {
+        Boolean getStatus();
+        Long getCategoryId();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package nhanle.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import nhanle.entity.Product;
+import nhanle.model.ProductModel;
+
+public interface ProductRepositoryCustom {
+
+    // Chỉ SELECT các cột ProductModel cần, map thẳng vào DTO (không qua entity, không nạp cả Category)
+    Page<ProductModel> findSummaries(Specification<Product> spec, Pageable pageable);
+}
@@ -0,0 +1,105 @@
+package nhanle.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.JoinType;
+
+import nhanle.entity.Product;
+import nhanle.model.ProductFilter;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {}
+
+    // Tham số null => không lọc (predicate null sẽ bị bỏ qua khi ghép)
+    public static Specification<Product> hasStatus(Boolean status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Product> hasCategoryId(Long categoryId) {
+        return (root, query, cb) -> categoryId == null ? null
+                : cb.equal(root.get("category").get("categoryId"), categoryId);
+    }
+
+    // Tên hoặc mô tả, cho mọi đường (admin, /api/products, chỉ mục); trước đây /api/products chỉ so tên
+    public static Specification<Product> hasKeyword(String keyword) {
+        return (root, query, cb) -> {
+            if (keyword == null || keyword.isBlank()) {
+                return null;
+            }
+            String pattern = "%" + keyword.trim().toLowerCase() + "%";
+            return cb.or(cb.like(cb.lower(root.get("productName")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern));
+        };
+    }
+
+    public static Specification<Product> priceBetween(BigDecimal min, BigDecimal max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) return cb.between(root.<BigDecimal>get("price"), min, max);
+            if (min != null) return cb.greaterThanOrEqualTo(root.<BigDecimal>get("price"), min);
+            if (max != null) return cb.lessThanOrEqualTo(root.<BigDecimal>get("price"), max);
+            return null;
+        };
+    }
+
+    public static Specification<Product> quantityBetween(Integer min, Integer max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) return cb.between(root.<Integer>get("quantity"), min, max);
+            if (min != null) return cb.greaterThanOrEqualTo(root.<Integer>get("quantity"), min);
+            if (max != null) return cb.lessThanOrEqualTo(root.<Integer>get("quantity"), max);
+            return null;
+        };
+    }
+
+    // [from, to)
+    public static Specification<Product> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.and(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"), from),
+                        cb.lessThan(root.<LocalDateTime>get("createdAt"), to));
+            }
+            if (from != null) return cb.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"), from);
+            if (to != null) return cb.lessThan(root.<LocalDateTime>get("createdAt"), to);
+            return null;
+        };
+    }
+
+    // JOIN FETCH category cho các truy vấn không đi qua @EntityGraph (vd. scroll của findBy);
+    // câu COUNT không được fetch nên bỏ qua khi kết quả là Long
+    public static Specification<Product> fetchCategory() {
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("category", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("productId").in(ids);
+    }
+
+    public static Specification<Product> filter(ProductFilter filter) {
+        if (filter == null) {
+            return Specification.allOf();
+        }
+        return filterExceptKeyword(filter).and(hasKeyword(filter.getKeyword()));
+    }
+
+    // Mọi điều kiện trừ từ khoá: dùng khi từ khoá đã được khớp qua chỉ mục full-text
+    public static Specification<Product> filterExceptKeyword(ProductFilter filter) {
+        if (filter == null) {
+            return Specification.allOf();
+        }
+        return Specification.allOf(
+                hasCategoryId(filter.getCategoryId()),
+                hasStatus(filter.getStatus()),
+                priceBetween(filter.getMinPrice(), filter.getMaxPrice()),
+                quantityBetween(filter.getMinQuantity(), filter.getMaxQuantity()),
+                createdBetween(filter.getCreatedFrom(), filter.getCreatedTo()));
+    }
+}
@@ -0,0 +1,55 @@
+package nhanle.search;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import nhanle.entity.Category;
+import nhanle.repository.CategoryRepository;
+import nhanle.support.TransactionHooks;
+
+@Component
+public class CategorySearchIndex {
+
+    private final NGramIndex index = new NGramIndex();
+    private final CategoryRepository categoryRepository;
+
+    public CategorySearchIndex(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (Category c : categoryRepository.findAll()) {
+            index.put(c.getCategoryId(), c.getCategoryName(), c.getDescription(), null, c.getStatus());
+        }
+    }
+
+    public void index(Category category) {
+        if (category == null || category.getCategoryId() == null) return;
+        Long id = category.getCategoryId();
+        String name = category.getCategoryName();
+        String description = category.getDescription();
+        Boolean status = category.getStatus();
+        TransactionHooks.afterCommit(() -> index.put(id, name, description, null, status));
+    }
+
+    public void statusChanged(Collection<Long> categoryIds, Boolean status) {
+        List<Long> ids = List.copyOf(categoryIds);
+        TransactionHooks.afterCommit(() -> index.updateStatus(ids, status));
+    }
+
+    public void remove(Long categoryId) {
+        TransactionHooks.afterCommit(() -> index.remove(categoryId));
+    }
+
+    public Page<Long> search(String keyword, Boolean status, Pageable pageable) {
+        return index.search(keyword, e -> status == null || status.equals(e.getStatus()), pageable);
+    }
+}
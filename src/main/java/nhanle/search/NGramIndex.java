@@ -0,0 +1,226 @@
+package nhanle.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Chỉ mục đảo (inverted index) theo trigram trên tên + mô tả đã bỏ dấu.
+ * Trigram thu hẹp tập ứng viên, sau đó kiểm tra lại bằng contains để loại
+ * kết quả sai và tính điểm: khớp tên nặng hơn khớp mô tả.
+ */
+public class NGramIndex {
+
+    private static final int N = 3;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static final class Entry {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final List<String> nameTokens;
+        private final Long groupId;
+        private final Boolean status;
+
+        Entry(Long id, String name, String description, Long groupId, Boolean status) {
+            this.id = id;
+            this.name = TextNormalizer.fold(name);
+            this.description = TextNormalizer.fold(description);
+            this.nameTokens = TextNormalizer.tokens(this.name);
+            this.groupId = groupId;
+            this.status = status;
+        }
+
+        private Entry(Entry other, Boolean status) {
+            this.id = other.id;
+            this.name = other.name;
+            this.description = other.description;
+            this.nameTokens = other.nameTokens;
+            this.groupId = other.groupId;
+            this.status = status;
+        }
+
+        public Long getId() { return id; }
+        public Long getGroupId() { return groupId; }
+        public Boolean getStatus() { return status; }
+    }
+
+    public void put(Long id, String name, String description, Long groupId, Boolean status) {
+        if (id == null) return;
+        Entry entry = new Entry(id, name, description, groupId, status);
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.put(id, entry);
+            if (old != null) {
+                unindex(old);
+            }
+            for (String gram : grams(entry)) {
+                postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) return;
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.remove(id);
+            if (old != null) {
+                unindex(old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Chỉ đổi trạng thái (văn bản giữ nguyên nên không phải tính lại trigram); id lạ bị bỏ qua
+    public void updateStatus(Collection<Long> ids, Boolean status) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                entries.computeIfPresent(id, (k, old) -> new Entry(old, status));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Trả về id theo điểm giảm dần (hoà điểm thì theo id tăng dần)
+    public Page<Long> search(String query, Predicate<Entry> filter, Pageable pageable) {
+        List<String> terms = TextNormalizer.tokens(TextNormalizer.fold(query));
+        List<Long> ids = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (!terms.isEmpty()) {
+                Map<Long, Integer> scores = new HashMap<>();
+                for (Entry entry : candidates(terms)) {
+                    if (filter != null && !filter.test(entry)) continue;
+                    int score = score(entry, terms);
+                    if (score > 0) {
+                        scores.put(entry.id, score);
+                    }
+                }
+                ids.addAll(scores.keySet());
+                ids.sort(Comparator.<Long>comparingInt(scores::get).reversed()
+                        .thenComparing(Comparator.naturalOrder()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (pageable == null || pageable.isUnpaged()) {
+            return new PageImpl<>(ids);
+        }
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(new ArrayList<>(ids.subList(from, to)), pageable, ids.size());
+    }
+
+    // Giao các posting của mọi trigram; từ ngắn hơn N ký tự thì không thu hẹp được
+    private Collection<Entry> candidates(List<String> terms) {
+        Set<Long> result = null;
+        for (String term : terms) {
+            if (term.length() < N) continue;
+            for (int i = 0; i + N <= term.length(); i++) {
+                Set<Long> posting = postings.get(term.substring(i, i + N));
+                if (posting == null) return List.of();
+                if (result == null) {
+                    result = new HashSet<>(posting);
+                } else {
+                    result.retainAll(posting);
+                }
+                if (result.isEmpty()) return List.of();
+            }
+        }
+        if (result == null) {
+            return entries.values();
+        }
+        List<Entry> list = new ArrayList<>(result.size());
+        for (Long id : result) {
+            list.add(entries.get(id));
+        }
+        return list;
+    }
+
+    // Mọi từ khoá đều phải xuất hiện (AND); 0 nghĩa là không khớp
+    private static int score(Entry entry, List<String> terms) {
+        int total = 0;
+        for (String term : terms) {
+            int s = 0;
+            if (entry.name.contains(term)) {
+                s += 3;
+                for (String token : entry.nameTokens) {
+                    if (token.equals(term)) { s += 2; break; }
+                    if (token.startsWith(term)) { s += 1; break; }
+                }
+            }
+            if (entry.description.contains(term)) {
+                s += 1;
+            }
+            if (s == 0) return 0;
+            total += s;
+        }
+        return total;
+    }
+
+    private void unindex(Entry entry) {
+        for (String gram : grams(entry)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(entry.id);
+                if (posting.isEmpty()) postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(Entry entry) {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, entry.nameTokens);
+        addGrams(grams, TextNormalizer.tokens(entry.description));
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, List<String> tokens) {
+        for (String token : tokens) {
+            for (int i = 0; i + N <= token.length(); i++) {
+                grams.add(token.substring(i, i + N));
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package nhanle.search;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import nhanle.entity.Product;
+import nhanle.repository.ProductRepository;
+import nhanle.support.TransactionHooks;
+
+@Component
+public class ProductSearchIndex {
+
+    private static final int REBUILD_BATCH = 1000;
+
+    private final NGramIndex index = new NGramIndex();
+    private final ProductRepository productRepository;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // Nạp lại toàn bộ chỉ mục khi khởi động (DB ngoài có thể đã có sẵn dữ liệu)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        Page<Product> page = productRepository.findAll(PageRequest.of(0, REBUILD_BATCH, Sort.by("productId")));
+        while (true) {
+            page.forEach(this::put);
+            if (!page.hasNext()) break;
+            page = productRepository.findAll(page.nextPageable());
+        }
+    }
+
+    public void index(Product product) {
+        if (product == null || product.getProductId() == null) return;
+        Long id = product.getProductId();
+        String name = product.getProductName();
+        String description = product.getDescription();
+        Long categoryId = product.getCategory() != null ? product.getCategory().getCategoryId() : null;
+        Boolean status = product.getStatus();
+        TransactionHooks.afterCommit(() -> index.put(id, name, description, categoryId, status));
+    }
+
+    public void statusChanged(Collection<Long> productIds, Boolean status) {
+        List<Long> ids = List.copyOf(productIds);
+        TransactionHooks.afterCommit(() -> index.updateStatus(ids, status));
+    }
+
+    public void remove(Long productId) {
+        TransactionHooks.afterCommit(() -> index.remove(productId));
+    }
+
+    public Page<Long> search(String keyword, Long categoryId, Boolean status, Pageable pageable) {
+        return index.search(keyword, e -> (categoryId == null || categoryId.equals(e.getGroupId()))
+                && (status == null || status.equals(e.getStatus())), pageable);
+    }
+
+    private void put(Product product) {
+        index.put(product.getProductId(), product.getProductName(), product.getDescription(),
+                product.getCategory() != null ? product.getCategory().getCategoryId() : null,
+                product.getStatus());
+    }
+}
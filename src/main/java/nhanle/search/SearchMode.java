@@ -0,0 +1,11 @@
+package nhanle.search;
+
+// Chọn đường tìm kiếm theo từng request: SQL LIKE (cũ) hoặc chỉ mục trong bộ nhớ
+public enum SearchMode {
+    SQL, INDEX;
+
+    public static SearchMode resolve(String requested, String defaultMode) {
+        String value = requested != null && !requested.isBlank() ? requested : defaultMode;
+        return "index".equalsIgnoreCase(value) ? INDEX : SQL;
+    }
+}
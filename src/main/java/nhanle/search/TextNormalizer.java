@@ -0,0 +1,40 @@
+package nhanle.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Bỏ dấu tiếng Việt + chữ thường để "Áo sơ mi" và "ao so mi" khớp nhau
+public final class TextNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {}
+
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String s = Normalizer.normalize(text, Normalizer.Form.NFD);
+        s = MARKS.matcher(s).replaceAll("");
+        s = s.replace('đ', 'd').replace('Đ', 'D');
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    // Tách từ trên chuỗi đã fold
+    public static List<String> tokens(String folded) {
+        List<String> result = new ArrayList<>();
+        if (folded == null || folded.isEmpty()) {
+            return result;
+        }
+        for (String t : SEPARATORS.split(folded)) {
+            if (!t.isEmpty()) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package nhanle.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,17 +8,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import nhanle.entity.Category;
+import nhanle.model.CategoryModel;
 
 public interface CategoryService {
 
   // ===== Truy vấn phân trang / tìm kiếm =====
   Page<Category> findAll(Pageable pageable);
 
-  Page<Category> findByKeyword(String keyword, Pageable pageable);
+  // Lọc động trạng thái + từ khoá trong một câu truy vấn (tham số null => bỏ qua)
+  Page<Category> findByFilter(Boolean status, String keyword, Pageable pageable);
 
-  Page<Category> findByStatus(Boolean status, Pageable pageable);
+  // Đường đọc cho danh sách: projection DTO, không nạp entity
+  Page<CategoryModel> findSummaries(Boolean status, String keyword, Pageable pageable);
 
-  Page<Category> findByStatusAndKeyword(Boolean status, String keyword, Pageable pageable);
+  // Tìm qua chỉ mục full-text (bỏ dấu, xếp theo độ liên quan)
+  Page<Category> search(Boolean status, String keyword, Pageable pageable);
 
   // ===== CRUD =====
   Category save(Category category);
@@ -28,13 +33,17 @@ public interface CategoryService {
 
   void delete(Category category);
 
+  // Entity cho đường ghi, không cache (mỗi lời gọi một instance riêng)
   Optional<Category> findById(Long id);
 
+  // Đường đọc có cache: DTO dùng chung giữa các request, chỉ đọc, không sửa
+  Optional<CategoryModel> findModelById(Long id);
+
   boolean existsByCategoryName(String categoryName);
 
   boolean existsByCategoryNameAndIdNot(String categoryName, Long id);
 
-  List<Category> findActiveCategories();
+  List<CategoryModel> findActiveCategories();
 
   long count();
 
@@ -42,7 +51,14 @@ public interface CategoryService {
 
   Category changeStatus(Long id);
 
+  // Đổi trạng thái hàng loạt (UPDATE theo lô id); trả về số dòng thực sự thay đổi
+  int updateStatus(Collection<Long> ids, Boolean status);
+
+  // Xoá mềm hàng loạt; danh mục còn sản phẩm được bỏ qua
+  int softDelete(Collection<Long> ids);
+
   List<Category> findTop10ByOrderByCreatedAtDesc();
   
-  List<Category> findByStatus(Boolean status);
+  // Danh sách có cache (bất biến), phần tử là DTO dùng chung
+  List<CategoryModel> findByStatus(Boolean status);
 }
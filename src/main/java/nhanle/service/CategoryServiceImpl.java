@@ -1,24 +1,47 @@
 package nhanle.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import nhanle.config.CacheConfig;
 import nhanle.entity.Category;
+import nhanle.model.CategoryModel;
 import nhanle.repository.CategoryRepository;
+import nhanle.repository.CategorySpecifications;
+import nhanle.search.CategorySearchIndex;
+import nhanle.stats.CatalogCounters;
+import nhanle.support.Chunks;
 
+// Mặc định chỉ đọc: Hibernate chuyển FlushMode.MANUAL, entity read-only (không giữ snapshot dirty-check);
+// các hàm ghi tự khai báo @Transactional
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class CategoryServiceImpl implements CategoryService {
 
   private final CategoryRepository repository;
+  private final CategorySearchIndex searchIndex;
+  private final CatalogCounters catalogCounters;
 
-  public CategoryServiceImpl(CategoryRepository repository) {
+  public CategoryServiceImpl(CategoryRepository repository, CategorySearchIndex searchIndex,
+      CatalogCounters catalogCounters) {
     this.repository = repository;
+    this.searchIndex = searchIndex;
+    this.catalogCounters = catalogCounters;
   }
 
   // ===== Truy vấn phân trang / tìm kiếm =====
@@ -28,28 +51,31 @@ public class CategoryServiceImpl implements CategoryService {
   }
 
   @Override
-  public Page<Category> findByKeyword(String keyword, Pageable pageable) {
-    if (keyword == null || keyword.isBlank()) {
-      return repository.findAll(pageable);
-    }
-    return repository.searchByKeyword(keyword.trim(), pageable);
+  public Page<Category> findByFilter(Boolean status, String keyword, Pageable pageable) {
+    return repository.findAll(CategorySpecifications.filter(status, keyword), pageable);
   }
 
   @Override
-  public Page<Category> findByStatus(Boolean status, Pageable pageable) {
-    return repository.findByStatus(status, pageable);
+  public Page<CategoryModel> findSummaries(Boolean status, String keyword, Pageable pageable) {
+    return repository.findSummaries(CategorySpecifications.filter(status, keyword), pageable);
   }
 
   @Override
-  public Page<Category> findByStatusAndKeyword(Boolean status, String keyword, Pageable pageable) {
-    if (keyword == null || keyword.isBlank()) {
-      return repository.findByStatus(status, pageable);
-    }
-    return repository.findByStatusAndKeyword(status, keyword.trim(), pageable);
+  public Page<Category> search(Boolean status, String keyword, Pageable pageable) {
+    Page<Long> ids = searchIndex.search(keyword, status, pageable);
+    Map<Long, Category> byId = new HashMap<>();
+    repository.findAllById(ids.getContent()).forEach(c -> byId.put(c.getCategoryId(), c));
+    List<Category> ordered = ids.getContent().stream()
+        .map(byId::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+    return new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
   }
 
   // ===== CRUD =====
   @Override
+  @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true)
+  @Transactional
   public Category save(Category category) {
     if (category == null) {
       throw new IllegalArgumentException("Category không được null");
@@ -62,10 +88,17 @@ public class CategoryServiceImpl implements CategoryService {
       throw new IllegalArgumentException("Tên danh mục đã tồn tại: " + category.getCategoryName());
     }
     category.setCategoryId(null); // đảm bảo tạo mới
-    return repository.save(category);
+    Category saved = repository.save(category);
+    searchIndex.index(saved);
+    catalogCounters.categoryCreated(saved.getStatus());
+    return saved;
   }
 
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#category.categoryId"),
+      @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true) })
+  @Transactional
   public Category update(Category category) {
     if (category == null || category.getCategoryId() == null) {
       throw new IllegalArgumentException("Category và ID không được null");
@@ -80,6 +113,7 @@ public class CategoryServiceImpl implements CategoryService {
       throw new IllegalArgumentException("Tên danh mục đã tồn tại: " + category.getCategoryName());
     }
 
+    Boolean previous = existed.getStatus();
     // cập nhật các trường cho phép
     if (category.getCategoryName() != null && !category.getCategoryName().isBlank()) {
       existed.setCategoryName(category.getCategoryName().trim());
@@ -90,21 +124,35 @@ public class CategoryServiceImpl implements CategoryService {
       existed.setStatus(category.getStatus());
     }
 
-    return repository.save(existed);
+    Category saved = repository.save(existed);
+    searchIndex.index(saved);
+    catalogCounters.categoryChanged(previous, saved.getStatus());
+    return saved;
   }
 
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+      @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true) })
+  @Transactional
   public void deleteById(Long id) {
     if (id == null) {
       throw new IllegalArgumentException("ID không được null");
     }
-    if (!repository.existsById(id)) {
+    Boolean previous = repository.findStatusById(id);
+    if (previous == null) {
       throw new IllegalArgumentException("Không tìm thấy Category với ID: " + id);
     }
     repository.deleteById(id);
+    searchIndex.remove(id);
+    catalogCounters.categoryRemoved(previous);
   }
 
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#category.categoryId"),
+      @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true) })
+  @Transactional
   public void delete(Category category) {
     if (category == null || category.getCategoryId() == null) {
       throw new IllegalArgumentException("Category và ID không được null");
@@ -118,6 +166,14 @@ public class CategoryServiceImpl implements CategoryService {
     return repository.findById(id);
   }
 
+  // Cache giữ DTO tách khỏi persistence context, không giữ entity JPA
+  @Override
+  @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id", condition = "#id != null")
+  public Optional<CategoryModel> findModelById(Long id) {
+    if (id == null) return Optional.empty();
+    return repository.findById(id).map(CategoryServiceImpl::toModel);
+  }
+
   @Override
   public boolean existsByCategoryName(String categoryName) {
     return categoryName != null
@@ -135,8 +191,9 @@ public class CategoryServiceImpl implements CategoryService {
 
   // ===== Thống kê / tiện ích =====
   @Override
-  public List<Category> findActiveCategories() {
-    return repository.findByStatus(true, Pageable.unpaged()).getContent();
+  @Cacheable(cacheNames = CacheConfig.CATEGORY_LISTS, key = "'active'")
+  public List<CategoryModel> findActiveCategories() {
+    return findByStatus(true);
   }
 
   @Override
@@ -151,11 +208,57 @@ public class CategoryServiceImpl implements CategoryService {
   }
 
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+      @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true) })
+  @Transactional
   public Category changeStatus(Long id) {
     Category c = repository.findById(id)
         .orElseThrow(() -> new IllegalArgumentException("Không tìm thấy Category với ID: " + id));
+    Boolean previous = c.getStatus();
     c.setStatus(!Boolean.TRUE.equals(c.getStatus()));
-    return repository.save(c);
+    Category saved = repository.save(c);
+    searchIndex.index(saved);
+    catalogCounters.categoryChanged(previous, saved.getStatus());
+    return saved;
+  }
+
+  // UPDATE hàng loạt đi thẳng xuống DB, không qua entity: xoá toàn bộ cache danh mục
+  @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+      @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true) })
+  @Transactional
+  public int updateStatus(Collection<Long> ids, Boolean status) {
+    if (status == null) {
+      throw new IllegalArgumentException("Trạng thái không được null");
+    }
+    LocalDateTime now = LocalDateTime.now();
+    int affected = 0;
+    for (List<Long> chunk : Chunks.of(ids, Chunks.DEFAULT_SIZE)) {
+      affected += repository.updateStatusByIdIn(chunk, status, now);
+      searchIndex.statusChanged(chunk, status);
+    }
+    catalogCounters.categoriesMovedTo(status, affected);
+    return affected;
+  }
+
+  @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true),
+      @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true) })
+  @Transactional
+  public int softDelete(Collection<Long> ids) {
+    LocalDateTime now = LocalDateTime.now();
+    int affected = 0;
+    for (List<Long> chunk : Chunks.of(ids, Chunks.DEFAULT_SIZE)) {
+      List<Long> deletable = repository.findDeletableIds(chunk);
+      if (deletable.isEmpty()) continue;
+      affected += repository.updateStatusByIdIn(deletable, false, now);
+      searchIndex.statusChanged(deletable, false);
+    }
+    catalogCounters.categoriesMovedTo(false, affected);
+    return affected;
   }
 
   @Override
@@ -164,7 +267,13 @@ public class CategoryServiceImpl implements CategoryService {
   }
 
   @Override
-  public List<Category> findByStatus(Boolean status) {
-    return repository.findByStatus(status);
+  @Cacheable(cacheNames = CacheConfig.CATEGORY_LISTS, key = "'status:' + #status")
+  public List<CategoryModel> findByStatus(Boolean status) {
+    return repository.findByStatus(status).stream().map(CategoryServiceImpl::toModel).toList();
+  }
+
+  private static CategoryModel toModel(Category category) {
+    return new CategoryModel(category.getCategoryId(), category.getCategoryName(), category.getDescription(),
+        category.getIcon(), category.getStatus(), category.getCreatedAt(), category.getUpdatedAt());
   }
 }
@@ -0,0 +1,121 @@
+package nhanle.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import nhanle.entity.Product;
+import nhanle.support.SortRegistry;
+
+/**
+ * Cursor "after" cho phân trang keyset: mã hoá giá trị khoá sắp xếp + productId
+ * của dòng cuối trang thành chuỗi base64url, client chỉ việc gửi lại nguyên văn.
+ */
+public final class ProductCursor {
+
+    public static final String ID_PROPERTY = "productId";
+
+    private static final char FIELD_SEP = '\u001F';
+    private static final char PART_SEP = '\u001E';
+
+    private ProductCursor() {}
+
+    // Keyset cần cột NOT NULL; các khoá trong SortRegistry.PRODUCTS đều thoả
+    public static boolean supports(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SortRegistry.PRODUCTS.allows(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Luôn thêm productId làm khoá phụ để thứ tự là duy nhất
+    public static Sort withTiebreaker(Sort sort) {
+        if (!supports(sort)) {
+            throw new IllegalArgumentException("Không hỗ trợ sắp xếp keyset theo: " + sort);
+        }
+        return SortRegistry.PRODUCTS.withTiebreaker(sort);
+    }
+
+    public static String encode(Product last, Sort sort) {
+        if (last == null) {
+            return null;
+        }
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(last);
+        StringBuilder sb = new StringBuilder();
+        for (Sort.Order order : withTiebreaker(sort)) {
+            Object value = bean.getPropertyValue(order.getProperty());
+            if (sb.length() > 0) sb.append(PART_SEP);
+            sb.append(order.getProperty()).append(FIELD_SEP)
+              .append(typeOf(value)).append(FIELD_SEP)
+              .append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Token rỗng => trang đầu; token phải khớp với thứ tự sắp xếp hiện tại
+    public static KeysetScrollPosition decode(String token, Sort sort) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor không hợp lệ");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String part : raw.split(String.valueOf(PART_SEP))) {
+            String[] f = part.split(String.valueOf(FIELD_SEP), 3);
+            if (f.length != 3) {
+                throw new IllegalArgumentException("Cursor không hợp lệ");
+            }
+            keys.put(f[0], parse(f[1], f[2]));
+        }
+
+        List<String> expected = new ArrayList<>();
+        withTiebreaker(sort).forEach(o -> expected.add(o.getProperty()));
+        if (!expected.equals(new ArrayList<>(keys.keySet()))) {
+            throw new IllegalArgumentException("Cursor không khớp với thứ tự sắp xếp");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static char typeOf(Object value) {
+        if (value instanceof Long) return 'L';
+        if (value instanceof Integer) return 'I';
+        if (value instanceof BigDecimal) return 'D';
+        if (value instanceof LocalDateTime) return 'T';
+        if (value instanceof String) return 'S';
+        throw new IllegalArgumentException("Không mã hoá được giá trị cursor: " + value);
+    }
+
+    private static Object parse(String type, String value) {
+        try {
+            switch (type) {
+                case "L": return Long.valueOf(value);
+                case "I": return Integer.valueOf(value);
+                case "D": return new BigDecimal(value);
+                case "T": return LocalDateTime.parse(value);
+                case "S": return value;
+                default: throw new IllegalArgumentException("Cursor không hợp lệ");
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor không hợp lệ");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package nhanle.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import nhanle.exporter.ExportFormat;
+
+public interface ProductExportService {
+
+    // Ghi toàn bộ sản phẩm khớp điều kiện ra luồng theo từng dòng; trả về số dòng đã ghi
+    long export(OutputStream output, ExportFormat format, Boolean status, Long categoryId) throws IOException;
+}
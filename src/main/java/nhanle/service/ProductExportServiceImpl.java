@@ -0,0 +1,71 @@
+package nhanle.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import nhanle.entity.Product;
+import nhanle.exporter.CsvProductWriter;
+import nhanle.exporter.ExportFormat;
+import nhanle.exporter.JsonLinesProductWriter;
+import nhanle.exporter.ProductRecordWriter;
+import nhanle.repository.ProductRepository;
+
+/**
+ * Export đọc sản phẩm qua cursor DB và ghi ngay ra luồng phản hồi: mỗi entity được
+ * detach sau khi ghi nên persistence context chỉ còn các category (số lượng nhỏ),
+ * bộ nhớ không tăng theo số dòng.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductExportServiceImpl implements ProductExportService {
+
+    // Đẩy dữ liệu xuống client định kỳ thay vì đợi đầy buffer
+    private static final int FLUSH_EVERY = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    public ProductExportServiceImpl(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public long export(OutputStream output, ExportFormat format, Boolean status, Long categoryId) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ProductRecordWriter records = format == ExportFormat.CSV ? new CsvProductWriter(writer)
+                : new JsonLinesProductWriter(writer, objectMapper);
+
+        long count = 0;
+        try (Stream<Product> stream = productRepository.streamForExport(status, categoryId)) {
+            Iterator<Product> it = stream.iterator();
+            while (it.hasNext()) {
+                Product product = it.next();
+                records.write(product);
+                entityManager.detach(product);
+                if (++count % FLUSH_EVERY == 0) {
+                    records.flush();
+                }
+            }
+        }
+        records.flush();
+        writer.flush();
+        return count;
+    }
+}
@@ -0,0 +1,13 @@
+package nhanle.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import nhanle.importer.ImportFormat;
+import nhanle.model.ImportResult;
+
+public interface ProductImportService {
+
+    // Đọc luồng theo từng dòng, chèn theo lô; dòng lỗi được ghi lại, không làm hỏng cả lô
+    ImportResult importProducts(InputStream input, ImportFormat format) throws IOException;
+}
@@ -0,0 +1,171 @@
+package nhanle.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import nhanle.entity.Category;
+import nhanle.entity.Product;
+import nhanle.importer.CsvProductReader;
+import nhanle.importer.ImportFormat;
+import nhanle.importer.ImportRecord;
+import nhanle.importer.JsonLinesProductReader;
+import nhanle.importer.ProductRecordReader;
+import nhanle.model.ImportResult;
+import nhanle.model.ProductModel;
+import nhanle.repository.CategoryRepository;
+import nhanle.search.ProductSearchIndex;
+import nhanle.stats.CatalogCounters;
+import nhanle.stats.CategoryProductCounts;
+
+/**
+ * Import hàng loạt: mỗi lô {@code app.import.batch-size} dòng hợp lệ chạy trong một
+ * transaction, Hibernate gom các INSERT thành JDBC batch (id lấy từ sequence pooled).
+ * Nếu lô bị rollback, các dòng của lô được chèn lại từng dòng để tìm đúng dòng lỗi.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogCounters catalogCounters;
+    private final CategoryProductCounts categoryProductCounts;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ProductImportServiceImpl(CategoryRepository categoryRepository, ProductSearchIndex productSearchIndex,
+                                    CatalogCounters catalogCounters, CategoryProductCounts categoryProductCounts,
+                                    Validator validator, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.import.batch-size:50}") int batchSize) {
+        this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.catalogCounters = catalogCounters;
+        this.categoryProductCounts = categoryProductCounts;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    private record Pending(long row, Product product) {}
+
+    @Override
+    public ImportResult importProducts(InputStream input, ImportFormat format) throws IOException {
+        // Nạp sẵn danh mục một lần thay vì tra từng dòng
+        Map<Long, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(category.getCategoryId(), category);
+        }
+
+        ImportResult result = new ImportResult();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try (ProductRecordReader reader = open(input, format)) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                result.rowRead();
+                Product product = toProduct(record, categories, result);
+                if (product != null) {
+                    batch.add(new Pending(record.row(), product));
+                }
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch, result);
+                    batch.clear();
+                }
+            }
+        }
+        insertBatch(batch, result);
+        return result;
+    }
+
+    private ProductRecordReader open(InputStream input, ImportFormat format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return format == ImportFormat.CSV ? new CsvProductReader(reader)
+                : new JsonLinesProductReader(reader, objectMapper);
+    }
+
+    private Product toProduct(ImportRecord record, Map<Long, Category> categories, ImportResult result) {
+        if (record.error() != null) {
+            result.failed(record.row(), record.error());
+            return null;
+        }
+        ProductModel model = record.model();
+        Set<ConstraintViolation<ProductModel>> violations = validator.validate(model);
+        if (!violations.isEmpty()) {
+            result.failed(record.row(), violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        Category category = categories.get(model.getCategoryId());
+        if (category == null) {
+            result.failed(record.row(), "Danh mục không tồn tại: " + model.getCategoryId());
+            return null;
+        }
+
+        Product product = new Product(model.getProductName().trim(), model.getDescription(),
+                model.getPrice(), model.getQuantity(), category);
+        product.setImage(model.getImage());
+        product.setStatus(model.getStatus() != null ? model.getStatus() : Boolean.TRUE);
+        return product;
+    }
+
+    private void insertBatch(List<Pending> batch, ImportResult result) {
+        if (batch.isEmpty()) return;
+        try {
+            transactionTemplate.executeWithoutResult(tx -> batch.forEach(p -> insert(p.product())));
+            result.imported(batch.size());
+        } catch (RuntimeException batchFailure) {
+            for (Pending pending : batch) {
+                Product product = pending.product();
+                product.setProductId(null); // id cấp trong lô đã rollback
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> insert(product));
+                    result.imported(1);
+                } catch (RuntimeException e) {
+                    result.failed(pending.row(), rootMessage(e));
+                }
+            }
+        }
+    }
+
+    private void insert(Product product) {
+        entityManager.persist(product);
+        productSearchIndex.index(product);
+        catalogCounters.productCreated(product.getStatus());
+        categoryProductCounts.productCreated(product.getCategory().getCategoryId());
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+}
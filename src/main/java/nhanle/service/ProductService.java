@@ -1,13 +1,19 @@
 package nhanle.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
-import nhanle.entity.Category;
 import nhanle.entity.Product;
+import nhanle.model.ProductFilter;
+import nhanle.model.ProductModel;
 
 public interface ProductService {
     
@@ -15,10 +21,6 @@ public interface ProductService {
     
     Page<Product> findAll(Pageable pageable);
     
-    List<Product> findByStatus(Boolean status);
-    
-    Page<Product> findByStatus(Boolean status, Pageable pageable);
-    
     Optional<Product> findById(Long id);
     
     Product save(Product product);
@@ -31,29 +33,32 @@ public interface ProductService {
     
     Product changeStatus(Long id);
     
-    List<Product> findByCategory(Category category);
-    
-    List<Product> findByCategoryAndStatus(Category category, Boolean status);
-    
-    List<Product> findByKeyword(String keyword);
+    // Đổi trạng thái hàng loạt bằng UPDATE theo từng lô id; trả về số dòng thực sự thay đổi
+    int updateStatus(Collection<Long> ids, Boolean status);
     
-    Page<Product> findByKeyword(String keyword, Pageable pageable);
+    // Lọc động: mọi tổ hợp điều kiện được đẩy xuống DB trong một câu truy vấn
+    Page<Product> findByFilter(ProductFilter filter, Pageable pageable);
     
-    List<Product> findByStatusAndKeyword(Boolean status, String keyword);
+    // Đường đọc cho danh sách: projection DTO, không nạp entity
+    Page<ProductModel> findSummaries(ProductFilter filter, Pageable pageable);
     
-    Page<Product> findByStatusAndKeyword(Boolean status, String keyword, Pageable pageable);
+    // Tìm qua chỉ mục full-text trong bộ nhớ (chỉ lấy các kết quả liên quan nhất, có trần),
+    // các bộ lọc còn lại áp trong SQL; pageable không có sort => xếp theo độ liên quan
+    Page<Product> search(ProductFilter filter, Pageable pageable);
     
-    List<Product> findByCategoryIdAndStatus(Long categoryId, Boolean status);
+    // Phân trang keyset: không chạy COUNT, chi phí mỗi trang không phụ thuộc độ sâu
+    Window<Product> scroll(ProductFilter filter, ScrollPosition position, int size, Sort sort);
     
-    Page<Product> findByCategoryIdAndStatus(Long categoryId, Boolean status, Pageable pageable);
-    
-    Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
+    Long countByCategoryId(Long categoryId);
     
-    Page<Product> findByCategoryIdAndKeyword(Long categoryId, String keyword, Pageable pageable);
+    // categoryId -> số sản phẩm, một câu GROUP BY thay cho N câu COUNT
+    Map<Long, Long> countByCategory();
     
-    Page<Product> findByCategoryIdAndStatusAndKeyword(Long categoryId, Boolean status, String keyword, Pageable pageable);
+    // Như countByCategory nhưng đọc từ bộ đếm trong bộ nhớ (không chạm DB)
+    Map<Long, Long> cachedCountByCategory();
     
-    Long countByCategoryId(Long categoryId);
+    // Một danh mục: đọc thẳng bộ đếm, không chép cả bảng
+    long cachedCountByCategory(Long categoryId);
     
     Long count();
     
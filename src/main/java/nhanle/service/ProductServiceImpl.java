@@ -1,93 +1,161 @@
 package nhanle.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import nhanle.entity.Category;
 import nhanle.entity.Product;
+import nhanle.model.ProductFilter;
+import nhanle.model.ProductModel;
 import nhanle.repository.ProductRepository;
-
+import nhanle.repository.ProductRepository.CategoryCount;
+import nhanle.repository.ProductRepository.ProductState;
+import nhanle.repository.ProductSpecifications;
+import nhanle.search.ProductSearchIndex;
+import nhanle.stats.CatalogCounters;
+import nhanle.stats.CategoryProductCounts;
+import nhanle.support.Chunks;
+
+// Mặc định chỉ đọc: Hibernate chuyển FlushMode.MANUAL, entity read-only (không giữ snapshot dirty-check);
+// các hàm ghi tự khai báo @Transactional
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class ProductServiceImpl implements ProductService {
 
+    // Trần số id lấy từ chỉ mục cho một lần tìm (câu IN và số entity nạp không tăng theo số kết quả khớp)
+    static final int MAX_SEARCH_CANDIDATES = 1000;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private CatalogCounters catalogCounters;
+
+    @Autowired
+    private CategoryProductCounts categoryProductCounts;
+
     @Override
     public List<Product> findAll() {
         return productRepository.findAll();
     }
 
-    @Override
-    public List<Product> findByStatus(Boolean status) {
-        return productRepository.findByStatus(status);
-    }
-
     @Override
     public Optional<Product> findById(Long id) {
         return productRepository.findById(id);
     }
 
     @Override
+    @Transactional
     public Product save(Product product) {
-        return productRepository.save(product);
+        ProductState previous = previousState(product);
+        Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        countSaved(previous, saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Product update(Product product) {
-        return productRepository.save(product);
+        ProductState previous = previousState(product);
+        Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        countSaved(previous, saved);
+        return saved;
+    }
+
+    private ProductState previousState(Product product) {
+        return product.getProductId() == null ? null
+                : productRepository.findStateById(product.getProductId()).orElse(null);
+    }
+
+    // previous == null: dòng mới được tạo
+    private void countSaved(ProductState previous, Product saved) {
+        Long categoryId = saved.getCategory() != null ? saved.getCategory().getCategoryId() : null;
+        if (previous == null) {
+            catalogCounters.productCreated(saved.getStatus());
+            categoryProductCounts.productCreated(categoryId);
+        } else {
+            catalogCounters.productChanged(previous.getStatus(), saved.getStatus());
+            categoryProductCounts.productMoved(previous.getCategoryId(), categoryId);
+        }
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
+        Optional<ProductState> previous = productRepository.findStateById(id);
         productRepository.deleteById(id);
+        productSearchIndex.remove(id);
+        previous.ifPresent(state -> {
+            catalogCounters.productRemoved(state.getStatus());
+            categoryProductCounts.productRemoved(state.getCategoryId());
+        });
     }
 
     @Override
+    @Transactional
     public void softDelete(Long id) {
-        Optional<Product> productOpt = productRepository.findById(id);
-        if (productOpt.isPresent()) {
-            Product product = productOpt.get();
-            product.setStatus(false);
-            productRepository.save(product);
-        }
+        updateStatus(List.of(id), false);
     }
 
     @Override
-    public List<Product> findByCategory(Category category) {
-        return productRepository.findByCategoryAndStatus(category, true);
-    }
-
-    @Override
-    public List<Product> findByCategoryAndStatus(Category category, Boolean status) {
-        return productRepository.findByCategoryAndStatus(category, status);
+    @Transactional
+    public int updateStatus(Collection<Long> ids, Boolean status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Trạng thái không được null");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int affected = 0;
+        for (List<Long> chunk : Chunks.of(ids, Chunks.DEFAULT_SIZE)) {
+            affected += productRepository.updateStatusByIdIn(chunk, status, now);
+            productSearchIndex.statusChanged(chunk, status);
+        }
+        catalogCounters.productsMovedTo(status, affected);
+        return affected;
     }
 
     @Override
-    public List<Product> findByKeyword(String keyword) {
-        return productRepository.findByProductNameContainingIgnoreCase(keyword);
+    public Long countByCategoryId(Long categoryId) {
+        return productRepository.countByCategoryId(categoryId);
     }
 
     @Override
-    public List<Product> findByStatusAndKeyword(Boolean status, String keyword) {
-        return productRepository.findByStatusAndKeyword(status, keyword);
+    public Map<Long, Long> countByCategory() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (CategoryCount row : productRepository.countGroupByCategory()) {
+            counts.put(row.getCategoryId(), row.getProductCount());
+        }
+        return counts;
     }
 
     @Override
-    public List<Product> findByCategoryIdAndStatus(Long categoryId, Boolean status) {
-        return productRepository.findByCategoryIdAndStatus(categoryId, status);
+    public Map<Long, Long> cachedCountByCategory() {
+        return categoryProductCounts.snapshot();
     }
 
     @Override
-    public Long countByCategoryId(Long categoryId) {
-        return productRepository.countByCategoryId(categoryId);
+    public long cachedCountByCategory(Long categoryId) {
+        return categoryProductCounts.get(categoryId);
     }
 
     @Override
@@ -101,47 +169,66 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public Page<Product> findByStatus(Boolean status, Pageable pageable) {
-        return productRepository.findByStatus(status, pageable);
+    public Page<Product> findByFilter(ProductFilter filter, Pageable pageable) {
+        return productRepository.findAll(ProductSpecifications.filter(filter), pageable);
     }
 
     @Override
-    public Page<Product> findByKeyword(String keyword, Pageable pageable) {
-        return productRepository.findByProductNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(keyword, keyword, pageable);
+    public Page<ProductModel> findSummaries(ProductFilter filter, Pageable pageable) {
+        return productRepository.findSummaries(ProductSpecifications.filter(filter), pageable);
     }
 
     @Override
-    public Page<Product> findByStatusAndKeyword(Boolean status, String keyword, Pageable pageable) {
-        return productRepository.findByStatusAndKeyword(status, keyword, pageable);
-    }
-
-    @Override
-    public Page<Product> findByCategoryIdAndStatus(Long categoryId, Boolean status, Pageable pageable) {
-        return productRepository.findByCategoryIdAndStatus(categoryId, status, pageable);
-    }
-
-    @Override
-    public Page<Product> findByCategoryId(Long categoryId, Pageable pageable) {
-        return productRepository.findByCategoryId(categoryId, pageable);
-    }
+    public Page<Product> search(ProductFilter filter, Pageable pageable) {
+        List<Long> ids = productSearchIndex.search(filter.getKeyword(), filter.getCategoryId(), filter.getStatus(),
+                PageRequest.of(0, MAX_SEARCH_CANDIDATES)).getContent();
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        // Từ khoá đã khớp qua chỉ mục (bỏ dấu); giá / số lượng / ngày tạo lọc trong SQL trên tập ứng viên
+        Specification<Product> spec = ProductSpecifications.filterExceptKeyword(filter)
+                .and(ProductSpecifications.idIn(ids));
+        if (pageable.getSort().isSorted()) {
+            return productRepository.findAll(spec, pageable);
+        }
 
-    @Override
-    public Page<Product> findByCategoryIdAndKeyword(Long categoryId, String keyword, Pageable pageable) {
-        return productRepository.findByCategoryIdAndKeyword(categoryId, keyword, pageable);
+        Map<Long, Product> byId = new HashMap<>();
+        for (Product p : productRepository.findAll(spec)) {
+            byId.put(p.getProductId(), p);
+        }
+        // Không yêu cầu sort: giữ đúng thứ tự theo điểm liên quan của chỉ mục
+        List<Product> ordered = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            Product p = byId.get(id);
+            if (p != null) ordered.add(p);
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ordered);
+        }
+        int from = (int) Math.min(pageable.getOffset(), ordered.size());
+        int to = Math.min(from + pageable.getPageSize(), ordered.size());
+        return new PageImpl<>(new ArrayList<>(ordered.subList(from, to)), pageable, ordered.size());
     }
 
     @Override
-    public Page<Product> findByCategoryIdAndStatusAndKeyword(Long categoryId, Boolean status, String keyword, Pageable pageable) {
-        return productRepository.findByCategoryIdAndStatusAndKeyword(categoryId, status, keyword, pageable);
+    public Window<Product> scroll(ProductFilter filter, ScrollPosition position, int size, Sort sort) {
+        Sort stableSort = ProductCursor.withTiebreaker(sort);
+        Specification<Product> spec = ProductSpecifications.filter(filter).and(ProductSpecifications.fetchCategory());
+        return productRepository.findBy(spec, q -> q.sortBy(stableSort).limit(size).scroll(position));
     }
 
     @Override
+    @Transactional
     public Product changeStatus(Long id) {
         Optional<Product> productOpt = productRepository.findById(id);
         if (productOpt.isPresent()) {
             Product product = productOpt.get();
+            Boolean previous = product.getStatus();
             product.setStatus(!product.getStatus());
-            return productRepository.save(product);
+            Product saved = productRepository.save(product);
+            productSearchIndex.index(saved);
+            catalogCounters.productChanged(previous, saved.getStatus());
+            return saved;
         }
         throw new RuntimeException("Product not found with id: " + id);
     }
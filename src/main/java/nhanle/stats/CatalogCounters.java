@@ -0,0 +1,88 @@
+package nhanle.stats;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import nhanle.repository.CategoryRepository;
+import nhanle.repository.ProductRepository;
+import nhanle.support.TransactionHooks;
+
+/**
+ * Số lượng sản phẩm / danh mục theo trạng thái, giữ trong bộ nhớ để trang admin
+ * không phải chạy 3 câu COUNT mỗi lần tải. Nạp từ DB khi khởi động, cập nhật từ
+ * service sau khi commit và định kỳ đối soát lại với DB.
+ */
+@Component
+public class CatalogCounters {
+
+    private final StatusCounters products = new StatusCounters();
+    private final StatusCounters categories = new StatusCounters();
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+
+    private volatile LocalDateTime reconciledAt;
+
+    public CatalogCounters(ProductRepository productRepository, CategoryRepository categoryRepository) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT5M}",
+               initialDelayString = "${app.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        products.reset(productRepository.countByStatus(true), productRepository.countByStatus(false));
+        categories.reset(categoryRepository.countByStatus(true), categoryRepository.countByStatus(false));
+        reconciledAt = LocalDateTime.now();
+    }
+
+    public StatusCounters products() {
+        return products;
+    }
+
+    public StatusCounters categories() {
+        return categories;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    // Các hàm ghi gọi qua đây để chỉ cộng/trừ khi transaction commit thành công
+    public void productCreated(Boolean status) {
+        TransactionHooks.afterCommit(() -> products.created(status));
+    }
+
+    public void productRemoved(Boolean status) {
+        TransactionHooks.afterCommit(() -> products.removed(status));
+    }
+
+    public void productChanged(Boolean from, Boolean to) {
+        TransactionHooks.afterCommit(() -> products.changed(from, to));
+    }
+
+    public void productsMovedTo(Boolean status, long count) {
+        TransactionHooks.afterCommit(() -> products.movedTo(status, count));
+    }
+
+    public void categoryCreated(Boolean status) {
+        TransactionHooks.afterCommit(() -> categories.created(status));
+    }
+
+    public void categoryRemoved(Boolean status) {
+        TransactionHooks.afterCommit(() -> categories.removed(status));
+    }
+
+    public void categoryChanged(Boolean from, Boolean to) {
+        TransactionHooks.afterCommit(() -> categories.changed(from, to));
+    }
+
+    public void categoriesMovedTo(Boolean status, long count) {
+        TransactionHooks.afterCommit(() -> categories.movedTo(status, count));
+    }
+}
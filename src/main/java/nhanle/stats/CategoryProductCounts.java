@@ -0,0 +1,87 @@
+package nhanle.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import nhanle.repository.ProductRepository;
+import nhanle.support.TransactionHooks;
+
+/**
+ * Số sản phẩm theo từng danh mục, giữ trong bộ nhớ. Nạp bằng một câu GROUP BY,
+ * cộng/trừ khi sản phẩm được tạo, xoá hoặc chuyển danh mục, và đối soát định kỳ
+ * cùng chu kỳ với {@link CatalogCounters}.
+ */
+@Component
+public class CategoryProductCounts {
+
+    private final Map<Long, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private final ProductRepository productRepository;
+
+    public CategoryProductCounts(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT5M}",
+               initialDelayString = "${app.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Map<Long, Long> fresh = new HashMap<>();
+        for (ProductRepository.CategoryCount row : productRepository.countGroupByCategory()) {
+            fresh.put(row.getCategoryId(), row.getProductCount());
+        }
+        counts.keySet().retainAll(fresh.keySet());
+        fresh.forEach((categoryId, total) -> {
+            LongAdder adder = adderFor(categoryId);
+            adder.reset();
+            adder.add(total);
+        });
+    }
+
+    public long get(Long categoryId) {
+        LongAdder adder = categoryId == null ? null : counts.get(categoryId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // Bản chụp: categoryId -> số sản phẩm (danh mục không có sản phẩm có thể vắng mặt)
+    public Map<Long, Long> snapshot() {
+        Map<Long, Long> result = new HashMap<>();
+        counts.forEach((categoryId, adder) -> result.put(categoryId, adder.sum()));
+        return result;
+    }
+
+    // Các hàm ghi gọi qua đây để chỉ cộng/trừ khi transaction commit thành công
+    public void productCreated(Long categoryId) {
+        TransactionHooks.afterCommit(() -> add(categoryId, 1));
+    }
+
+    public void productRemoved(Long categoryId) {
+        TransactionHooks.afterCommit(() -> add(categoryId, -1));
+    }
+
+    public void productMoved(Long from, Long to) {
+        if (Objects.equals(from, to)) return;
+        TransactionHooks.afterCommit(() -> {
+            add(from, -1);
+            add(to, 1);
+        });
+    }
+
+    private void add(Long categoryId, long delta) {
+        if (categoryId != null) {
+            adderFor(categoryId).add(delta);
+        }
+    }
+
+    private LongAdder adderFor(Long categoryId) {
+        return counts.computeIfAbsent(categoryId, k -> new LongAdder());
+    }
+}
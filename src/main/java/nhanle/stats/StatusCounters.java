@@ -0,0 +1,55 @@
+package nhanle.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Bộ đếm active/inactive của một bảng, cập nhật tăng dần từ các hàm ghi
+public class StatusCounters {
+
+    private final LongAdder active = new LongAdder();
+    private final LongAdder inactive = new LongAdder();
+
+    public void created(Boolean status) {
+        adderFor(status).increment();
+    }
+
+    public void removed(Boolean status) {
+        adderFor(status).decrement();
+    }
+
+    public void changed(Boolean from, Boolean to) {
+        if (Boolean.TRUE.equals(from) == Boolean.TRUE.equals(to)) return;
+        adderFor(from).decrement();
+        adderFor(to).increment();
+    }
+
+    // count dòng vừa chuyển sang trạng thái to (cập nhật hàng loạt)
+    public void movedTo(Boolean to, long count) {
+        if (count <= 0) return;
+        adderFor(!Boolean.TRUE.equals(to)).add(-count);
+        adderFor(to).add(count);
+    }
+
+    // Đồng bộ lại theo số liệu thật trong DB
+    public void reset(long activeCount, long inactiveCount) {
+        active.reset();
+        active.add(activeCount);
+        inactive.reset();
+        inactive.add(inactiveCount);
+    }
+
+    public long active() {
+        return active.sum();
+    }
+
+    public long inactive() {
+        return inactive.sum();
+    }
+
+    public long total() {
+        return active() + inactive();
+    }
+
+    private LongAdder adderFor(Boolean status) {
+        return Boolean.TRUE.equals(status) ? active : inactive;
+    }
+}
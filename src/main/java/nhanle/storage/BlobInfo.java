@@ -0,0 +1,6 @@
+package nhanle.storage;
+
+import java.time.Instant;
+
+// Thông tin một blob: khoá (đường dẫn tương đối theo /images/), kích thước, thời điểm sửa cuối
+public record BlobInfo(String key, long size, Instant lastModified) {}
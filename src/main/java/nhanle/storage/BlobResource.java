@@ -0,0 +1,55 @@
+package nhanle.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+
+import org.springframework.core.io.AbstractResource;
+
+// Resource đọc từ BlobStore: Spring dùng nó để trả body, kể cả khi cắt theo Range
+public class BlobResource extends AbstractResource {
+
+    private final BlobStore store;
+    private final BlobInfo info;
+
+    public BlobResource(BlobStore store, BlobInfo info) {
+        this.store = store;
+        this.info = info;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        try {
+            return store.open(info.key());
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(info.key());
+        }
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return info.size();
+    }
+
+    @Override
+    public long lastModified() {
+        return info.lastModified().toEpochMilli();
+    }
+
+    @Override
+    public String getFilename() {
+        String key = info.key();
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getDescription() {
+        return "Blob [" + info.key() + "]";
+    }
+}
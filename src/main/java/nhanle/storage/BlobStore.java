@@ -0,0 +1,57 @@
+package nhanle.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Nơi lưu file upload. Khoá là đường dẫn tương đối dùng '/' (vd. {@code cas/ab/cd/<hash>.jpg},
+ * {@code thumb/<tên>.jpg}); mọi hàm đọc đều trả luồng để phục vụ được từ backend bất kỳ.
+ */
+public interface BlobStore {
+
+    // Ghi từ luồng (length = -1 nếu không biết trước); ghi đè nếu đã có
+    void put(String key, InputStream data, long length, String contentType) throws IOException;
+
+    // Ghi từ file tạm cục bộ (file nguồn có thể bị move đi); backend cục bộ move nguyên tử thay vì chép lại
+    void putFile(String key, Path source, String contentType) throws IOException;
+
+    // File tạm để ghi trước rồi đưa vào bằng putFile. Backend cục bộ đặt nó trong thư mục của kho
+    // (cùng filesystem) nên bước move cuối cùng là nguyên tử; mặc định dùng thư mục tạm hệ thống
+    default Path createTempFile(String suffix) throws IOException {
+        return Files.createTempFile("blob", suffix);
+    }
+
+    InputStream open(String key) throws IOException;
+
+    Optional<BlobInfo> stat(String key) throws IOException;
+
+    default boolean exists(String key) throws IOException {
+        return stat(key).isPresent();
+    }
+
+    // Làm mới thời điểm sửa (dùng cho hạn ân xá khi dọn rác)
+    void touch(String key) throws IOException;
+
+    boolean delete(String key) throws IOException;
+
+    // Mọi khoá bắt đầu bằng prefix
+    List<String> list(String prefix) throws IOException;
+
+    // File cục bộ tương ứng (cho sendfile); backend từ xa trả empty
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    // Chặn khoá thoát ra ngoài thư mục gốc hoặc trỏ vào thư mục tạm
+    static String checkKey(String key) {
+        if (key == null || key.isBlank() || key.startsWith("/") || key.contains("\\")
+                || key.startsWith(".") || key.contains("/.") || key.contains("//")) {
+            throw new IllegalArgumentException("Khoá blob không hợp lệ: " + key);
+        }
+        return key;
+    }
+}
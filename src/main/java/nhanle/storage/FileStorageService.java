@@ -1,38 +1,69 @@
 package nhanle.storage;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+// Nghiệp vụ ảnh upload (đặt tên, khử trùng, bản thu nhỏ); nơi lưu thật do BlobStore quyết định
 @Service
 public class FileStorageService {
 
-  private Path rootDir; 
+  private static final Logger log = LoggerFactory.getLogger(FileStorageService.class);
 
-  public FileStorageService(@Value("${app.upload-dir:./uploads}") String uploadDir) {
-    Path desired = Paths.get(uploadDir).toAbsolutePath().normalize();
-    try {
-      Files.createDirectories(desired);
-      this.rootDir = desired;
-    } catch (IOException e) {
-      Path fallback = Paths.get("./uploads").toAbsolutePath().normalize();
-      try {
-        Files.createDirectories(fallback);
-      } catch (IOException ex) {
-        throw new IllegalStateException(
-            "Không tạo được thư mục upload ở: " + desired + " và fallback: " + fallback, ex);
-      }
-      this.rootDir = fallback;
-      System.err.println("[WARN] Upload dir '" + desired + "' không dùng được. Fallback: " + fallback);
-    }
+  // Thư mục con của kho theo nội dung: cas/ab/cd/<sha256>.<ext>
+  public static final String CONTENT_DIR = "cas";
+
+  private final BlobStore store;
+  private final TaskExecutor imageExecutor;
+  private final boolean contentAddressed;
+  // Bản thu nhỏ đã biết là có (tránh hỏi backend từ xa cho mỗi dòng của trang danh sách)
+  private final Set<String> knownVariants = ConcurrentHashMap.newKeySet();
+  // Bản thu nhỏ đã biết là chưa có: sản phẩm không có bản thu nhỏ không stat kho ở mỗi lần render;
+  // xoá khi sinh xong, hết hạn sau một phút phòng trường hợp instance khác sinh hộ
+  private final Cache<String, Boolean> missingVariants = Caffeine.newBuilder()
+      .maximumSize(10_000)
+      .expireAfterWrite(Duration.ofMinutes(1))
+      .build();
+  // Có bản nén sẵn .br/.gz (do công cụ ngoài sinh) hay không; đa số ảnh không có nên nhớ cả kết quả âm,
+  // hết hạn sau vài phút để nhận bản nén mới thêm vào
+  private final Cache<String, Boolean> compressedExists = Caffeine.newBuilder()
+      .maximumSize(10_000)
+      .expireAfterWrite(Duration.ofMinutes(5))
+      .build();
+
+  public FileStorageService(BlobStore store,
+      @Value("${app.images.store:uuid}") String storeMode,
+      @Qualifier("imageExecutor") TaskExecutor imageExecutor) {
+    this.store = store;
+    this.imageExecutor = imageExecutor;
+    this.contentAddressed = "content".equalsIgnoreCase(storeMode);
   }
 
+  // Lưu ảnh gốc rồi giao việc sinh các bản thu nhỏ cho imageExecutor (không chặn request)
   public String storeImage(MultipartFile file) throws IOException {
     if (file == null || file.isEmpty()) return null;
 
@@ -43,14 +74,159 @@ public class FileStorageService {
     int dot = origin.lastIndexOf('.');
     if (dot >= 0) ext = origin.substring(dot);
 
-    String newName = UUID.randomUUID().toString().replace("-", "") + ext.toLowerCase();
-    Path target = rootDir.resolve(newName).normalize();
-    Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+    try (InputStream in = file.getInputStream()) {
+      return storeStream(in, ext.toLowerCase(), file.getContentType(), file.getSize());
+    }
+  }
+
+  // Ghi luồng thẳng vào kho khi dữ liệu tới (length = -1 nếu không biết); trả về tên file
+  public String storeStream(InputStream in, String ext, String contentType, long length) throws IOException {
+    if (contentAddressed) {
+      return storeByContent(in, ext, contentType);
+    }
+
+    String newName = UUID.randomUUID().toString().replace("-", "") + ext;
+    store.put(newName, in, length, contentType);
+    imageExecutor.execute(() -> generateVariants(newName));
     return newName;
   }
 
+  // Băm SHA-256 trong lúc ghi ra file tạm, rồi đưa vào kho dưới tên theo hash.
+  // Nội dung đã có thì bỏ file tạm: mỗi ảnh chỉ lưu một lần dù upload bao nhiêu lần.
+  private String storeByContent(InputStream source, String ext, String contentType) throws IOException {
+    // Tạm ngay trong kho: đưa vào cas/ bằng rename nguyên tử, không bao giờ lộ blob ghi dở
+    Path tmp = store.createTempFile(".tmp");
+    try {
+      MessageDigest digest = sha256();
+      try (InputStream in = new DigestInputStream(source, digest)) {
+        Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+      }
+      String hash = HexFormat.of().formatHex(digest.digest());
+      String name = CONTENT_DIR + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ext;
+      if (store.exists(name)) {
+        // Làm mới mtime để lần dọn rác kế tiếp không xoá blob vừa được dùng lại
+        store.touch(name);
+      } else {
+        store.putFile(name, tmp, contentType);
+      }
+      if (variantName(name, ImageVariant.THUMB) == null) {
+        imageExecutor.execute(() -> generateVariants(name));
+      }
+      return name;
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  // Blob cho đường dẫn /images/<filename>; empty nếu khoá không hợp lệ hoặc không tồn tại
+  public Optional<BlobInfo> find(String filename) throws IOException {
+    if (filename == null || filename.isBlank()) return Optional.empty();
+    try {
+      return store.stat(filename);
+    } catch (IllegalArgumentException invalidKey) {
+      return Optional.empty();
+    }
+  }
+
+  // Bản nén sẵn filename + extension (".br" | ".gz"); empty nếu không có
+  public Optional<BlobInfo> findCompressed(String filename, String extension) throws IOException {
+    String key = filename + extension;
+    if (Boolean.FALSE.equals(compressedExists.getIfPresent(key))) return Optional.empty();
+    Optional<BlobInfo> found = find(key);
+    compressedExists.put(key, found.isPresent());
+    return found;
+  }
+
+  public BlobResource resource(BlobInfo info) {
+    return new BlobResource(store, info);
+  }
+
+  // File cục bộ (chỉ backend đĩa) để container gửi bằng sendfile
+  public Optional<Path> localPath(String filename) {
+    return store.localPath(filename);
+  }
+
+  public boolean isContentAddressed() {
+    return contentAddressed;
+  }
+
+  // Mọi blob trong kho nội dung, tên tương đối theo /images/ (dùng cho dọn rác)
+  public List<String> listContentBlobs() throws IOException {
+    return store.list(CONTENT_DIR + "/");
+  }
+
+  // Xoá thật blob và các bản thu nhỏ; chỉ bộ dọn rác gọi (sau khi đã đếm tham chiếu)
+  public void deleteBlob(String filename) {
+    if (filename == null || filename.isBlank()) return;
+    try { store.delete(filename); } catch (Exception ignored) {}
+    compressedExists.invalidate(filename + ".br");
+    compressedExists.invalidate(filename + ".gz");
+    for (ImageVariant variant : ImageVariant.values()) {
+      String key = variantKey(filename, variant);
+      knownVariants.remove(key);
+      try { store.delete(key); } catch (Exception ignored) {}
+    }
+  }
+
+  // Blob theo nội dung có thể đang được dòng khác dùng chung: không xoá ngay, để bộ dọn rác quyết định
   public void deleteIfExists(String filename) {
     if (filename == null || filename.isBlank()) return;
-    try { Files.deleteIfExists(rootDir.resolve(filename).normalize()); } catch (Exception ignored) {}
+    if (filename.startsWith(CONTENT_DIR + "/")) return;
+    deleteBlob(filename);
+  }
+
+  // Tên file (tương đối với /images/) của bản thu nhỏ; null nếu chưa sinh xong hoặc không phải ảnh
+  public String variantName(String filename, ImageVariant variant) {
+    if (filename == null || filename.isBlank() || variant == null) return null;
+    String key = variantKey(filename, variant);
+    if (knownVariants.contains(key)) return key;
+    if (missingVariants.getIfPresent(key) != null) return null;
+    try {
+      if (store.exists(key)) {
+        knownVariants.add(key);
+        return key;
+      }
+      missingVariants.put(key, Boolean.TRUE);
+    } catch (IOException | IllegalArgumentException e) {
+      // coi như chưa có, dùng ảnh gốc
+    }
+    return null;
+  }
+
+  private void generateVariants(String filename) {
+    try {
+      BufferedImage image = ImageResizer.read(store.open(filename));
+      if (image == null) return; // không phải định dạng ảnh ImageIO đọc được
+      for (ImageVariant variant : ImageVariant.values()) {
+        Path tmp = store.createTempFile(".jpg");
+        try {
+          ImageResizer.writeVariant(image, tmp, variant.getMaxSize());
+          String key = variantKey(filename, variant);
+          store.putFile(key, tmp, "image/jpeg");
+          knownVariants.add(key);
+          missingVariants.invalidate(key);
+        } finally {
+          Files.deleteIfExists(tmp);
+        }
+      }
+    } catch (Exception e) {
+      log.warn("Không tạo được ảnh thu nhỏ cho '{}'", filename, e);
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // <variant>/<tên gốc bỏ đuôi>.jpg
+  private static String variantKey(String filename, ImageVariant variant) {
+    String base = filename.substring(filename.lastIndexOf('/') + 1);
+    int dot = base.lastIndexOf('.');
+    if (dot > 0) base = base.substring(0, dot);
+    return variant.directory() + "/" + base + ".jpg";
   }
 }
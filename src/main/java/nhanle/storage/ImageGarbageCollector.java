@@ -0,0 +1,81 @@
+package nhanle.storage;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import nhanle.repository.CategoryRepository;
+import nhanle.repository.ImageReference;
+import nhanle.repository.ProductRepository;
+
+/**
+ * Dọn rác kho ảnh theo nội dung: đếm tham chiếu từ Product.image và Category.icon
+ * (GROUP BY theo tên blob), xoá các blob không còn ai dùng. Blob mới ghi trong
+ * khoảng {@code app.images.gc-grace} được giữ lại vì form upload có thể chưa lưu xong.
+ */
+@Component
+@ConditionalOnProperty(name = "app.images.store", havingValue = "content")
+public class ImageGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageGarbageCollector.class);
+
+    private final FileStorageService fileStorageService;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final Duration grace;
+
+    public ImageGarbageCollector(FileStorageService fileStorageService, ProductRepository productRepository,
+                                 CategoryRepository categoryRepository,
+                                 @Value("${app.images.gc-grace:PT1H}") Duration grace) {
+        this.fileStorageService = fileStorageService;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.grace = grace;
+    }
+
+    // Số tham chiếu của từng blob (blob vắng mặt = 0 tham chiếu)
+    public Map<String, Long> referenceCounts() {
+        String prefix = FileStorageService.CONTENT_DIR + "/";
+        Map<String, Long> refs = new HashMap<>();
+        for (ImageReference r : productRepository.countImageReferences(prefix)) {
+            refs.merge(r.getName(), r.getRefs(), Long::sum);
+        }
+        for (ImageReference r : categoryRepository.countImageReferences(prefix)) {
+            refs.merge(r.getName(), r.getRefs(), Long::sum);
+        }
+        return refs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.images.gc-interval:PT1H}",
+               initialDelayString = "${app.images.gc-interval:PT1H}")
+    public int sweep() {
+        Map<String, Long> refs = referenceCounts();
+        Instant cutoff = Instant.now().minus(grace);
+        int deleted = 0;
+        try {
+            for (String blob : fileStorageService.listContentBlobs()) {
+                if (refs.getOrDefault(blob, 0L) > 0) continue;
+                Optional<BlobInfo> info = fileStorageService.find(blob);
+                if (info.isEmpty() || info.get().lastModified().isAfter(cutoff)) continue;
+                fileStorageService.deleteBlob(blob);
+                deleted++;
+            }
+        } catch (IOException e) {
+            log.warn("Dọn rác kho ảnh thất bại: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Đã xoá {} ảnh không còn được tham chiếu", deleted);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,91 @@
+package nhanle.storage;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Thu nhỏ ảnh bằng javax.imageio và ghi ra JPEG. JDK không có encoder WebP nên
+ * mọi biến thể đều là JPEG (nền trắng thay cho vùng trong suốt).
+ */
+public final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private ImageResizer() {}
+
+    // Đọc ảnh gốc; null nếu ImageIO không nhận ra định dạng
+    public static BufferedImage read(InputStream source) throws IOException {
+        try (InputStream in = source) {
+            return ImageIO.read(in);
+        }
+    }
+
+    // Ghi bản thu nhỏ (giữ tỉ lệ, không phóng to) dạng JPEG ra target
+    public static void writeVariant(BufferedImage image, Path target, int maxSize) throws IOException {
+        writeJpeg(scale(image, maxSize), target);
+    }
+
+    static BufferedImage scale(BufferedImage image, int maxSize) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(w, h));
+        int targetW = Math.max(1, (int) Math.round(w * ratio));
+        int targetH = Math.max(1, (int) Math.round(h * ratio));
+
+        // Thu nhỏ nhiều bước (mỗi bước tối đa 1/2) để ảnh không bị răng cưa
+        BufferedImage current = image;
+        int cw = w;
+        int ch = h;
+        do {
+            cw = Math.max(targetW, cw / 2);
+            ch = Math.max(targetH, ch / 2);
+            current = draw(current, cw, ch);
+        } while (cw != targetW || ch != targetH);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("Không có JPEG writer");
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
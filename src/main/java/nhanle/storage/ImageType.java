@@ -0,0 +1,49 @@
+package nhanle.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Nhận diện định dạng ảnh theo magic bytes ở đầu file, không tin phần mở rộng/Content-Type của client
+public enum ImageType {
+    JPEG(".jpg", "image/jpeg"),
+    PNG(".png", "image/png"),
+    GIF(".gif", "image/gif"),
+    WEBP(".webp", "image/webp");
+
+    private static final byte[] PNG_MAGIC = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    private final String extension;
+    private final String mediaType;
+
+    ImageType(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    // null nếu không phải định dạng ảnh được nhận
+    public static ImageType detect(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (length >= PNG_MAGIC.length && Arrays.equals(head, 0, PNG_MAGIC.length, PNG_MAGIC, 0, PNG_MAGIC.length)) {
+            return PNG;
+        }
+        if (length >= 6) {
+            String gif = new String(head, 0, 6, StandardCharsets.US_ASCII);
+            if (gif.equals("GIF87a") || gif.equals("GIF89a")) return GIF;
+        }
+        if (length >= 12 && new String(head, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+                && new String(head, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+            return WEBP;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,138 @@
+package nhanle.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Upload ảnh dạng luồng: đọc khối đầu tiên để kiểm tra magic bytes và kích thước ảnh
+ * (từ chối sớm file giả/"bom giải nén"), sau đó ghi phần còn lại thẳng vào BlobStore
+ * trong khi vẫn đếm byte để cắt khi vượt giới hạn. Số upload đồng thời bị giới hạn bằng
+ * semaphore: hết lượt thì trả 503 thay vì giữ thread request chờ.
+ */
+@Service
+public class ImageUploadService {
+
+    private static final int HEAD_SIZE = 64 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final Semaphore permits;
+    private final long maxSize;
+    private final long maxPixels;
+    private final long acquireTimeoutMillis;
+
+    public ImageUploadService(FileStorageService fileStorageService,
+                              @Value("${app.upload.max-concurrent:4}") int maxConcurrent,
+                              @Value("${app.upload.max-size:10MB}") DataSize maxSize,
+                              @Value("${app.upload.max-pixels:40000000}") long maxPixels,
+                              @Value("${app.upload.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        this.fileStorageService = fileStorageService;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxSize = maxSize.toBytes();
+        this.maxPixels = maxPixels;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    // Trả về tên file đã lưu (dùng cho Product.image / Category.icon)
+    public String upload(InputStream body, long contentLength) throws IOException {
+        if (contentLength > maxSize) {
+            throw new UploadRejectedException(HttpStatus.PAYLOAD_TOO_LARGE, "File vượt quá " + maxSize + " byte");
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new UploadRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Máy chủ đang bận xử lý upload, thử lại sau");
+        }
+        try {
+            byte[] head = body.readNBytes(HEAD_SIZE);
+            ImageType type = ImageType.detect(head, head.length);
+            if (type == null) {
+                throw new UploadRejectedException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                        "Chỉ nhận ảnh JPEG, PNG, GIF hoặc WebP");
+            }
+            long pixels = pixelCount(head);
+            if (pixels > maxPixels) {
+                throw new UploadRejectedException(HttpStatus.PAYLOAD_TOO_LARGE,
+                        "Ảnh quá lớn: " + pixels + " điểm ảnh (tối đa " + maxPixels + ")");
+            }
+
+            InputStream rest = new LimitedInputStream(body, maxSize - head.length);
+            InputStream all = new SequenceInputStream(new ByteArrayInputStream(head), rest);
+            return fileStorageService.storeStream(all, type.getExtension(), type.getMediaType(), contentLength);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    // width*height đọc từ header trong khối đầu; -1 nếu không đọc được (header dài hơn khối đầu, WebP...)
+    private static long pixelCount(byte[] head) {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(head))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return -1;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                return (long) reader.getWidth(0) * reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    // Ném 413 ngay khi số byte đọc được vượt giới hạn (không đợi ghi xong)
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) consumed(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) consumed(n);
+            return n;
+        }
+
+        private void consumed(long n) {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new UploadRejectedException(HttpStatus.PAYLOAD_TOO_LARGE, "File vượt quá giới hạn cho phép");
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package nhanle.storage;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Dùng trong template: {@code th:src="${@images.url(c.icon, 'thumb')}"}. Trả về bản
+ * thu nhỏ nếu đã có, ngược lại là ảnh gốc; giá trị đã là URL thì giữ nguyên.
+ */
+@Component("images")
+public class ImageUrls {
+
+  private static final String PREFIX = "/images/";
+
+  private final FileStorageService fileStorageService;
+
+  public ImageUrls(FileStorageService fileStorageService) {
+    this.fileStorageService = fileStorageService;
+  }
+
+  public String url(String filename) {
+    return url(filename, null);
+  }
+
+  public String url(String filename, String size) {
+    if (filename == null || filename.isBlank()) return null;
+    if (filename.startsWith("/") || filename.contains("://")) return filename;
+    String variant = fileStorageService.variantName(filename, ImageVariant.parse(size));
+    return PREFIX + (variant != null ? variant : filename);
+  }
+}
@@ -0,0 +1,33 @@
+package nhanle.storage;
+
+import java.util.Locale;
+
+// Các kích thước ảnh sinh thêm từ ảnh gốc; mỗi loại nằm trong thư mục con riêng
+public enum ImageVariant {
+    THUMB(160),
+    MEDIUM(640);
+
+    private final int maxSize;
+
+    ImageVariant(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // Cạnh dài nhất (px) sau khi thu nhỏ
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String directory() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // null nếu không khớp loại nào (=> dùng ảnh gốc)
+    public static ImageVariant parse(String size) {
+        if (size == null) return null;
+        for (ImageVariant v : values()) {
+            if (v.name().equalsIgnoreCase(size.trim())) return v;
+        }
+        return null;
+    }
+}
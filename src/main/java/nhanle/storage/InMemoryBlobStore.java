@@ -0,0 +1,61 @@
+package nhanle.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Lưu trong RAM: dùng cho test và chạy thử (app.storage.type=memory); mất khi tắt ứng dụng
+public class InMemoryBlobStore implements BlobStore {
+
+    private record Blob(byte[] data, Instant lastModified) {}
+
+    private final Map<String, Blob> blobs = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String key, InputStream data, long length, String contentType) throws IOException {
+        blobs.put(BlobStore.checkKey(key), new Blob(data.readAllBytes(), Instant.now()));
+    }
+
+    @Override
+    public void putFile(String key, Path source, String contentType) throws IOException {
+        blobs.put(BlobStore.checkKey(key), new Blob(Files.readAllBytes(source), Instant.now()));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        Blob blob = blobs.get(key);
+        if (blob == null) throw new NoSuchFileException(key);
+        return new ByteArrayInputStream(blob.data());
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) {
+        Blob blob = blobs.get(key);
+        return blob == null ? Optional.empty()
+                : Optional.of(new BlobInfo(key, blob.data().length, blob.lastModified()));
+    }
+
+    @Override
+    public void touch(String key) {
+        blobs.computeIfPresent(key, (k, b) -> new Blob(b.data(), Instant.now()));
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return blobs.remove(key) != null;
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+        return blobs.keySet().stream().filter(k -> k.startsWith(prefix)).sorted().collect(Collectors.toList());
+    }
+}
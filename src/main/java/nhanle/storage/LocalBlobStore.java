@@ -0,0 +1,117 @@
+package nhanle.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Lưu trên một thư mục của máy chạy ứng dụng; ghi qua file tạm + move nguyên tử
+public class LocalBlobStore implements BlobStore {
+
+    private static final String TMP_DIR = ".tmp";
+
+    private final Path root;
+
+    public LocalBlobStore(Path root) throws IOException {
+        this.root = Files.createDirectories(root.toAbsolutePath().normalize());
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public void put(String key, InputStream data, long length, String contentType) throws IOException {
+        Path tmp = createTempFile(".tmp");
+        try {
+            Files.copy(data, tmp, StandardCopyOption.REPLACE_EXISTING);
+            moveInto(tmp, resolve(key));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public void putFile(String key, Path source, String contentType) throws IOException {
+        moveInto(source, resolve(key));
+    }
+
+    @Override
+    public Path createTempFile(String suffix) throws IOException {
+        return Files.createTempFile(Files.createDirectories(root.resolve(TMP_DIR)), "put", suffix);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) return Optional.empty();
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+        return Optional.of(new BlobInfo(key, attrs.size(), attrs.lastModifiedTime().toInstant()));
+    }
+
+    @Override
+    public void touch(String key) throws IOException {
+        Files.setLastModifiedTime(resolve(key), FileTime.from(Instant.now()));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                    .map(f -> root.relativize(f).toString().replace('\\', '/'))
+                    .filter(k -> !k.startsWith(TMP_DIR + "/") && k.startsWith(prefix))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(BlobStore.checkKey(key)).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Khoá blob không hợp lệ: " + key);
+        }
+        return path;
+    }
+
+    // Nguồn ở filesystem khác (vd. /tmp hoặc shard khác) không move nguyên tử được: chép vào .tmp
+    // của kho trước rồi mới move, để khoá đích không bao giờ lộ ra một file đang ghi dở
+    private void moveInto(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Path staged = createTempFile(".tmp");
+            try {
+                Files.copy(source, staged, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                Files.deleteIfExists(source);
+            } finally {
+                Files.deleteIfExists(staged);
+            }
+        }
+    }
+}
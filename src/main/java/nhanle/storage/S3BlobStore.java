@@ -0,0 +1,130 @@
+package nhanle.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Lưu trên dịch vụ tương thích S3 (AWS S3, MinIO, ...). Mọi node ứng dụng dùng chung
+ * bucket nên không cần ổ đĩa chia sẻ. Khoá blob dùng làm object key (có thể thêm prefix).
+ */
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String prefix;
+
+    public S3BlobStore(S3Client s3, String bucket, String prefix) {
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.prefix = prefix == null || prefix.isBlank() ? "" : (prefix.endsWith("/") ? prefix : prefix + "/");
+    }
+
+    @Override
+    public void put(String key, InputStream data, long length, String contentType) throws IOException {
+        if (length < 0) {
+            // SDK cần biết độ dài: đọc vào bộ nhớ (chỉ xảy ra với luồng không rõ kích thước)
+            byte[] bytes = data.readAllBytes();
+            s3.putObject(putRequest(key, contentType), RequestBody.fromBytes(bytes));
+        } else {
+            s3.putObject(putRequest(key, contentType), RequestBody.fromInputStream(data, length));
+        }
+    }
+
+    @Override
+    public void putFile(String key, Path source, String contentType) {
+        s3.putObject(putRequest(key, contentType), RequestBody.fromFile(source));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        }
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) {
+        try {
+            HeadObjectResponse head = s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+            return Optional.of(new BlobInfo(key, head.contentLength(), head.lastModified()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return Optional.empty();
+            throw e;
+        }
+    }
+
+    // S3 không có "touch": chép object lên chính nó để cập nhật LastModified. REPLACE bắt buộc khi chép
+    // lên chính nó nhưng xoá sạch metadata cũ, nên đọc lại (HEAD) rồi ghi đúng các giá trị đó
+    @Override
+    public void touch(String key) throws IOException {
+        String objectKey = objectKey(key);
+        HeadObjectResponse head;
+        try {
+            head = s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(objectKey).build());
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        }
+        s3.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(bucket).sourceKey(objectKey)
+                .destinationBucket(bucket).destinationKey(objectKey)
+                .metadataDirective(MetadataDirective.REPLACE)
+                .contentType(head.contentType())
+                .cacheControl(head.cacheControl())
+                .contentDisposition(head.contentDisposition())
+                .contentEncoding(head.contentEncoding())
+                .contentLanguage(head.contentLanguage())
+                .metadata(head.metadata())
+                .build());
+    }
+
+    // DeleteObject trả thành công cả khi key không tồn tại: HEAD trước để biết có thật sự xoá gì không
+    // (chỉ bộ dọn rác gọi nên thêm một request là chấp nhận được)
+    @Override
+    public boolean delete(String key) {
+        boolean existed = stat(key).isPresent();
+        if (existed) {
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(objectKey(key)).build());
+        }
+        return existed;
+    }
+
+    @Override
+    public List<String> list(String keyPrefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).prefix(prefix + keyPrefix).build();
+        return s3.listObjectsV2Paginator(request).contents().stream()
+                .map(S3Object::key)
+                .map(k -> k.substring(prefix.length()))
+                .collect(Collectors.toList());
+    }
+
+    private PutObjectRequest putRequest(String key, String contentType) {
+        return PutObjectRequest.builder().bucket(bucket).key(objectKey(key)).contentType(contentType).build();
+    }
+
+    private String objectKey(String key) {
+        return prefix + BlobStore.checkKey(key);
+    }
+}
@@ -0,0 +1,79 @@
+package nhanle.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Chia blob ra nhiều thư mục (thường là nhiều ổ đĩa) theo hash của khoá. Mỗi khoá
+ * luôn rơi vào cùng một thư mục nên đọc/ghi/xoá chỉ chạm một ổ.
+ */
+public class ShardedBlobStore implements BlobStore {
+
+    private final List<LocalBlobStore> shards;
+
+    public ShardedBlobStore(List<LocalBlobStore> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Cần ít nhất một thư mục lưu trữ");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public void put(String key, InputStream data, long length, String contentType) throws IOException {
+        shard(key).put(key, data, length, contentType);
+    }
+
+    @Override
+    public void putFile(String key, Path source, String contentType) throws IOException {
+        shard(key).putFile(key, source, contentType);
+    }
+
+    // Khoá đích chưa biết (vd. tên theo hash): tạm ở shard đầu; putFile sang shard khác vẫn
+    // nguyên tử vì LocalBlobStore chép vào .tmp của chính nó trước khi move
+    @Override
+    public Path createTempFile(String suffix) throws IOException {
+        return shards.get(0).createTempFile(suffix);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return shard(key).open(key);
+    }
+
+    @Override
+    public Optional<BlobInfo> stat(String key) throws IOException {
+        return shard(key).stat(key);
+    }
+
+    @Override
+    public void touch(String key) throws IOException {
+        shard(key).touch(key);
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return shard(key).delete(key);
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        List<String> keys = new ArrayList<>();
+        for (LocalBlobStore s : shards) {
+            keys.addAll(s.list(prefix));
+        }
+        return keys;
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return shard(key).localPath(key);
+    }
+
+    private LocalBlobStore shard(String key) {
+        return shards.get(Math.floorMod(BlobStore.checkKey(key).hashCode(), shards.size()));
+    }
+}
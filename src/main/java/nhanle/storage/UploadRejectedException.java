@@ -0,0 +1,18 @@
+package nhanle.storage;
+
+import org.springframework.http.HttpStatus;
+
+// Upload bị từ chối trước/trong khi ghi: mang theo mã HTTP để controller trả đúng lỗi
+public class UploadRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public UploadRejectedException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
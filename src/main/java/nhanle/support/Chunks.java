@@ -0,0 +1,27 @@
+package nhanle.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+public final class Chunks {
+
+    // Giữ danh sách IN (...) dưới giới hạn tham số của các DB (Oracle: 1000)
+    public static final int DEFAULT_SIZE = 500;
+
+    private Chunks() {}
+
+    // Bỏ null/trùng lặp rồi chia thành các phần tối đa size phần tử, giữ thứ tự ban đầu
+    public static <T> List<List<T>> of(Collection<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        if (items == null || items.isEmpty()) return chunks;
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(items));
+        distinct.removeIf(Objects::isNull);
+        for (int from = 0; from < distinct.size(); from += size) {
+            chunks.add(distinct.subList(from, Math.min(from + size, distinct.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,83 @@
+package nhanle.support;
+
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Danh sách trắng các khoá sắp xếp, dùng chung cho trang admin và /api.
+ * Chỉ nhận thuộc tính có index phù hợp (migration V2) và NOT NULL; luôn thêm khoá chính
+ * làm khoá phụ để các dòng bằng nhau có thứ tự cố định giữa các trang.
+ * Sắp xếp theo cột không index (description TEXT, quantity, updatedAt...) bị từ chối.
+ */
+public final class SortRegistry {
+
+    public static final SortRegistry PRODUCTS =
+            new SortRegistry("productId", "productId", "productName", "price", "createdAt");
+
+    public static final SortRegistry CATEGORIES =
+            new SortRegistry("categoryId", "categoryId", "categoryName", "createdAt");
+
+    private final String idProperty;
+    private final Set<String> properties;
+
+    private SortRegistry(String idProperty, String... properties) {
+        this.idProperty = idProperty;
+        this.properties = Set.of(properties);
+    }
+
+    public String getIdProperty() {
+        return idProperty;
+    }
+
+    public Set<String> getProperties() {
+        return properties;
+    }
+
+    public boolean allows(String property) {
+        return properties.contains(property);
+    }
+
+    // Dùng cho /api: khoá lạ là lỗi của client (400)
+    public Sort resolve(String key, String direction) {
+        if (key == null || key.isBlank()) {
+            key = idProperty;
+        }
+        if (!allows(key.trim())) {
+            throw new IllegalArgumentException("Không hỗ trợ sắp xếp theo '" + key + "', chỉ nhận: "
+                    + String.join(", ", properties.stream().sorted().toList()));
+        }
+        return withTiebreaker(Sort.by(directionOf(direction), key.trim()));
+    }
+
+    // Dùng cho trang admin: khoá lạ thì quay về khoá mặc định thay vì báo lỗi
+    public Sort resolveOrDefault(String key, String defaultKey, String direction) {
+        return resolve(key != null && allows(key.trim()) ? key : defaultKey, direction);
+    }
+
+    public Sort withTiebreaker(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!allows(order.getProperty())) {
+                throw new IllegalArgumentException("Không hỗ trợ sắp xếp theo '" + order.getProperty() + "'");
+            }
+        }
+        if (sort.getOrderFor(idProperty) != null) {
+            return sort;
+        }
+        Sort.Order last = null;
+        for (Sort.Order order : sort) {
+            last = order;
+        }
+        Sort.Direction dir = last != null ? last.getDirection() : Sort.Direction.ASC;
+        return sort.and(Sort.by(dir, idProperty));
+    }
+
+    // Khoá chính của thứ tự (thuộc tính đầu tiên), để hiển thị lại trên form
+    public static String primaryKey(Sort sort) {
+        return sort.iterator().next().getProperty();
+    }
+
+    private static Sort.Direction directionOf(String direction) {
+        return "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+}
@@ -0,0 +1,19 @@
+-- Index theo đúng các dạng truy vấn của ProductRepository/CategoryRepository.
+-- Cột sắp xếp đi sau cột lọc, product_id cuối cùng làm tiebreaker cho phân trang keyset.
+
+-- status = ? ORDER BY product_name | price | created_at
+CREATE INDEX idx_products_status_name ON products (status, product_name, product_id);
+CREATE INDEX idx_products_status_price ON products (status, price, product_id);
+CREATE INDEX idx_products_status_created ON products (status, created_at, product_id);
+-- category_id = ? [AND status = ?] ORDER BY product_name; cũng phục vụ FK và COUNT theo danh mục
+CREATE INDEX idx_products_category_status_name ON products (category_id, status, product_name, product_id);
+
+-- findTop10ByOrderByCreatedAtDesc
+CREATE INDEX idx_categories_created ON categories (created_at DESC);
+-- danh sách admin: status = ? ORDER BY category_name
+CREATE INDEX idx_categories_status_name ON categories (status, category_name);
+
+-- Tra tên không phân biệt hoa thường (existsByCategoryNameIgnoreCase) bằng index thay vì quét bảng;
+-- unique nên "Sách" và "sách" không thể cùng tồn tại
+ALTER TABLE categories ADD COLUMN category_name_lower VARCHAR(200) GENERATED ALWAYS AS (LOWER(category_name));
+CREATE UNIQUE INDEX ux_categories_name_lower ON categories (category_name_lower);
@@ -0,0 +1,29 @@
+-- Lược đồ ban đầu, giống với những gì ddl-auto=create-drop từng sinh ra.
+-- Khác bản mysql: MariaDB có sequence thật.
+
+CREATE SEQUENCE product_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE categories (
+    category_id   BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    category_name VARCHAR(200) NOT NULL,
+    description   VARCHAR(500),
+    icon          VARCHAR(255),
+    status        BIT          NOT NULL,
+    created_at    DATETIME(6)  NOT NULL,
+    updated_at    DATETIME(6),
+    CONSTRAINT uk_categories_name UNIQUE (category_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE products (
+    product_id   BIGINT         NOT NULL PRIMARY KEY,
+    product_name VARCHAR(200)   NOT NULL,
+    description  TEXT,
+    price        DECIMAL(10, 2) NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    image        VARCHAR(255),
+    status       BIT            NOT NULL,
+    category_id  BIGINT         NOT NULL,
+    created_at   DATETIME(6)    NOT NULL,
+    updated_at   DATETIME(6),
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories (category_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,18 @@
+-- Index theo đúng các dạng truy vấn của ProductRepository/CategoryRepository.
+-- InnoDB đã gắn khoá chính vào mọi index phụ nên không cần thêm product_id làm tiebreaker.
+
+-- status = ? ORDER BY product_name | price | created_at
+CREATE INDEX idx_products_status_name ON products (status, product_name);
+CREATE INDEX idx_products_status_price ON products (status, price);
+CREATE INDEX idx_products_status_created ON products (status, created_at);
+-- category_id = ? [AND status = ?] ORDER BY product_name; thay cho index FK tự sinh
+CREATE INDEX idx_products_category_status_name ON products (category_id, status, product_name);
+
+-- findTop10ByOrderByCreatedAtDesc
+CREATE INDEX idx_categories_created ON categories (created_at DESC);
+-- danh sách admin: status = ? ORDER BY category_name
+CREATE INDEX idx_categories_status_name ON categories (status, category_name);
+
+-- Tra tên không phân biệt hoa thường (existsByCategoryNameIgnoreCase) bằng index thay vì quét bảng
+ALTER TABLE categories ADD COLUMN category_name_lower VARCHAR(200) GENERATED ALWAYS AS (LOWER(category_name)) STORED;
+CREATE UNIQUE INDEX ux_categories_name_lower ON categories (category_name_lower);
@@ -0,0 +1,32 @@
+-- Lược đồ ban đầu, giống với những gì ddl-auto=create-drop từng sinh ra.
+-- MySQL không có sequence: Hibernate dùng bảng product_seq thay thế (một dòng next_val).
+
+CREATE TABLE product_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO product_seq VALUES (1);
+
+CREATE TABLE categories (
+    category_id   BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    category_name VARCHAR(200) NOT NULL,
+    description   VARCHAR(500),
+    icon          VARCHAR(255),
+    status        BIT          NOT NULL,
+    created_at    DATETIME(6)  NOT NULL,
+    updated_at    DATETIME(6),
+    CONSTRAINT uk_categories_name UNIQUE (category_name)
+) ENGINE = InnoDB;
+
+CREATE TABLE products (
+    product_id   BIGINT         NOT NULL PRIMARY KEY,
+    product_name VARCHAR(200)   NOT NULL,
+    description  TEXT,
+    price        DECIMAL(10, 2) NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    image        VARCHAR(255),
+    status       BIT            NOT NULL,
+    category_id  BIGINT         NOT NULL,
+    created_at   DATETIME(6)    NOT NULL,
+    updated_at   DATETIME(6),
+    CONSTRAINT fk_products_category FOREIGN KEY (category_id) REFERENCES categories (category_id)
+) ENGINE = InnoDB;
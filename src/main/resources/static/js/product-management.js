@@ -42,7 +42,8 @@ $(document).ready(function() {
                     title: 'Hình ảnh',
                     render: function(data, type, row) {
                         if (data && data.trim() !== '') {
-                            return `<img src="${data}" alt="${row.productName}" style="width: 50px; height: 50px; object-fit: cover;">`;
+                            // Ưu tiên bản thu nhỏ, tránh tải ảnh gốc cho mỗi dòng
+                            return `<img src="${row.thumbnail || data}" alt="${row.productName}" style="width: 50px; height: 50px; object-fit: cover;">`;
                         }
                         return '<span class="text-muted">Không có</span>';
                     },
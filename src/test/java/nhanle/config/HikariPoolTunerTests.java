@@ -0,0 +1,50 @@
+package nhanle.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Kích thước pool: cấu hình riêng của pool thắng, không có thì lấy theo số core
+class HikariPoolTunerTests {
+
+	private static final String SHARED = "spring.datasource.hikari";
+	private static final String REPLICA = "app.datasource.replica.hikari";
+
+	@Test
+	void poolWithoutSizeGetsCoreDerivedSize() {
+		MockEnvironment env = new MockEnvironment().withProperty(REPLICA + ".maximum-pool-size", "3");
+		HikariDataSource pool = new HikariPoolTuner(env).configure(new HikariDataSource(), SHARED);
+		assertThat(pool.getMaximumPoolSize()).isEqualTo(HikariPoolTuner.derivedPoolSize(env));
+	}
+
+	@Test
+	void sharedSizeAppliesToPoolsThatInheritIt() {
+		MockEnvironment env = new MockEnvironment().withProperty(SHARED + ".maximum-pool-size", "6");
+		HikariDataSource replica = new HikariPoolTuner(env).configure(new HikariDataSource(), SHARED, REPLICA);
+		assertThat(replica.getMaximumPoolSize()).isEqualTo(6);
+	}
+
+	@Test
+	void poolOwnSizeOverridesSharedSize() {
+		MockEnvironment env = new MockEnvironment()
+				.withProperty(SHARED + ".maximum-pool-size", "6")
+				.withProperty(REPLICA + ".maximum-pool-size", "3");
+		HikariPoolTuner tuner = new HikariPoolTuner(env);
+		assertThat(tuner.configure(new HikariDataSource(), SHARED).getMaximumPoolSize()).isEqualTo(6);
+		assertThat(tuner.configure(new HikariDataSource(), SHARED, REPLICA).getMaximumPoolSize()).isEqualTo(3);
+	}
+
+	@Test
+	void configuredPoolIsNotResetByPostProcessor() {
+		MockEnvironment env = new MockEnvironment().withProperty(SHARED + ".maximum-pool-size", "6");
+		HikariPoolTuner tuner = new HikariPoolTuner(env);
+		HikariDataSource pool = tuner.configure(new HikariDataSource(), SHARED);
+		tuner.postProcessBeforeInitialization(pool, "primaryDataSource");
+		tuner.postProcessAfterInitialization(pool, "primaryDataSource");
+		assertThat(pool.getMaximumPoolSize()).isEqualTo(6);
+		assertThat(tuner.getPools()).containsExactly(pool);
+	}
+}
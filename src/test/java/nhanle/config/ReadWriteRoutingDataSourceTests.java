@@ -0,0 +1,52 @@
+package nhanle.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Hai DB H2 trong bộ nhớ đóng vai primary / replica
+class ReadWriteRoutingDataSourceTests {
+
+	private ReadWriteRoutingDataSource routing;
+
+	@BeforeEach
+	void setUp() {
+		DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", "");
+		DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "");
+		routing = new ReadWriteRoutingDataSource();
+		routing.setTargetDataSources(Map.of(
+				ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+				ReadWriteRoutingDataSource.Route.REPLICA, replica));
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void readOnlyTransactionUsesReplica() throws Exception {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try (Connection c = routing.getConnection()) {
+			assertThat(c.getMetaData().getURL()).contains("mem:replica");
+		}
+	}
+
+	@Test
+	void readWriteTransactionUsesPrimary() throws Exception {
+		try (Connection c = routing.getConnection()) {
+			assertThat(c.getMetaData().getURL()).contains("mem:primary");
+		}
+	}
+}
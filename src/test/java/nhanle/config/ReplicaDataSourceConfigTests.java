@@ -0,0 +1,47 @@
+package nhanle.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Có replica: cả hai pool phải nhận spring.datasource.hikari.*, replica ghi đè bằng prefix riêng;
+// kích thước pool quyết định riêng từng pool
+@SpringBootTest(properties = {
+		"app.upload-dir=target/test-uploads",
+		"app.datasource.replica.url=jdbc:h2:mem:testdb",
+		"spring.datasource.hikari.connection-timeout=4000",
+		"spring.datasource.hikari.keepalive-time=120000",
+		"spring.datasource.hikari.data-source-properties.DB_CLOSE_DELAY=-1",
+		"app.datasource.replica.hikari.maximum-pool-size=3"
+})
+class ReplicaDataSourceConfigTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	void primaryPoolBindsHikariProperties() {
+		HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+		assertThat(primary.getConnectionTimeout()).isEqualTo(4000);
+		assertThat(primary.getKeepaliveTime()).isEqualTo(120000);
+		// Không khai báo maximum-pool-size cho primary => lấy theo số core
+		assertThat(primary.getMaximumPoolSize()).isEqualTo(HikariPoolTuner.derivedPoolSize(context.getEnvironment()));
+		assertThat(primary.getDataSourceProperties()).containsEntry("DB_CLOSE_DELAY", "-1");
+	}
+
+	@Test
+	void replicaPoolInheritsHikariPropertiesAndOverridesItsOwn() {
+		HikariDataSource replica = context.getBean("replicaDataSource", HikariDataSource.class);
+		assertThat(replica.getConnectionTimeout()).isEqualTo(4000);
+		assertThat(replica.getKeepaliveTime()).isEqualTo(120000);
+		assertThat(replica.getDataSourceProperties()).containsEntry("DB_CLOSE_DELAY", "-1");
+		assertThat(replica.getMaximumPoolSize()).isEqualTo(3);
+		assertThat(replica.isReadOnly()).isTrue();
+		assertThat(replica.getPoolName()).isEqualTo("replica");
+	}
+}
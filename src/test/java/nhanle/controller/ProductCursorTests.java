@@ -0,0 +1,39 @@
+package nhanle.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Cursor hỏng hoặc bị sửa không được lặng lẽ quay về trang đầu
+@SpringBootTest(properties = "app.upload-dir=target/test-uploads")
+@AutoConfigureMockMvc
+class ProductCursorTests {
+
+	private static final String TAMPERED = "bm90LWEtY3Vyc29y";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void apiRejectsTamperedCursor() throws Exception {
+		mockMvc.perform(get("/api/products").param("size", "5").param("after", TAMPERED))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").exists());
+	}
+
+	@Test
+	void adminRedirectsToFirstPageWithError() throws Exception {
+		mockMvc.perform(get("/admin/products?status=true&after=" + TAMPERED))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(redirectedUrl("/admin/products?status=true"))
+				.andExpect(flash().attributeExists("errorMessage"));
+	}
+}
@@ -0,0 +1,63 @@
+package nhanle.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import nhanle.service.ProductService;
+
+// Tải file export thật: StreamingResponseBody chạy bất đồng bộ nên phải asyncDispatch
+@SpringBootTest(properties = "app.upload-dir=target/test-uploads")
+@AutoConfigureMockMvc
+class ProductExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProductService productService;
+
+	@Test
+	void csvExportStreamsHeaderAndEveryProduct() throws Exception {
+		String body = download("csv");
+		String[] lines = body.split("\r\n");
+		assertThat(lines[0]).startsWith("productId,productName,description");
+		assertThat(lines).hasSize(1 + productService.count().intValue());
+	}
+
+	@Test
+	void ndjsonExportWritesOneObjectPerLine() throws Exception {
+		String body = download("ndjson");
+		assertThat(body.lines()).hasSize(productService.count().intValue())
+				.allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+	}
+
+	@Test
+	void unknownFormatIsBadRequest() throws Exception {
+		mockMvc.perform(get("/api/products/export").param("format", "xml"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private String download(String format) throws Exception {
+		MvcResult started = mockMvc.perform(get("/api/products/export").param("format", format))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Disposition", containsString("." + format)))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+	}
+}
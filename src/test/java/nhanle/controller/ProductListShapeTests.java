@@ -0,0 +1,81 @@
+package nhanle.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// /api/products phải trả cùng một dạng JSON (không kèm mô tả) dù đi qua projection (sql) hay chỉ mục (index)
+@SpringBootTest(properties = "app.upload-dir=target/test-uploads")
+@AutoConfigureMockMvc
+class ProductListShapeTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void projectionAndIndexPathsReturnSameFields() throws Exception {
+		JsonNode sql = list("sql");
+		JsonNode index = list("index");
+		assertThat(sql).isNotEmpty();
+		assertThat(index).isNotEmpty();
+		assertThat(fields(sql.get(0))).isEqualTo(fields(index.get(0)));
+		// Mô tả (cột TEXT) không nằm trong danh sách, ở cả hai đường
+		assertThat(sql.get(0).has("description")).isFalse();
+		// Có ảnh thì có URL bản thu nhỏ cho bảng danh sách
+		assertThat(sql.get(0).has("thumbnail")).isEqualTo(sql.get(0).hasNonNull("image"));
+	}
+
+	@Test
+	void indexPathAppliesRemainingFiltersAndSort() throws Exception {
+		// "cao cấp": nhiều sản phẩm mẫu khớp, maxPrice loại bớt một phần
+		String query = "/api/products?keyword=cao%20c%E1%BA%A5p&maxPrice=20000000&sort=price&direction=desc&search=";
+		JsonNode sql = read(query + "sql");
+		JsonNode index = read(query + "index");
+		assertThat(sql).isNotEmpty();
+		assertThat(ids(index)).isEqualTo(ids(sql));
+	}
+
+	private JsonNode list(String search) throws Exception {
+		return read("/api/products?keyword=laptop&search=" + search);
+	}
+
+	private JsonNode read(String url) throws Exception {
+		String body = mockMvc.perform(get(URI.create(url)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private static List<Long> ids(JsonNode array) {
+		List<Long> ids = new ArrayList<>();
+		array.forEach(node -> ids.add(node.get("productId").asLong()));
+		return ids;
+	}
+
+	private static Set<String> fields(JsonNode node) {
+		Set<String> names = new TreeSet<>();
+		for (Iterator<String> it = node.fieldNames(); it.hasNext();) {
+			names.add(it.next());
+		}
+		return names;
+	}
+}
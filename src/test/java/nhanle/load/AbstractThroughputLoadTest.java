@@ -0,0 +1,72 @@
+package nhanle.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Bắn nhiều request đồng thời vào /api/products và ghi log throughput + p50/p99.
+ * Chỉ chạy khi có -Dload=true (mvn test -Dload=true -Dtest='*LoadTests'); điều kiện
+ * @EnabledIfSystemProperty không được kế thừa nên mỗi lớp con tự khai báo.
+ * VirtualThreadLoadTests cần JVM 21+ (dự án build với 17) nên muốn so sánh hai chế độ
+ * phải chạy bộ test này trên JDK 21.
+ */
+@Tag("load")
+abstract class AbstractThroughputLoadTest {
+
+	private static final Logger log = LoggerFactory.getLogger(AbstractThroughputLoadTest.class);
+
+	private static final int REQUESTS = Integer.getInteger("load.requests", 5000);
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+
+	@LocalServerPort
+	private int port;
+
+	protected abstract String mode();
+
+	@Test
+	void throughputUnderConcurrency() throws Exception {
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		URI uri = URI.create("http://localhost:" + port + "/api/products?page=0&size=20");
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		LatencyRecorder latencies = new LatencyRecorder();
+		List<CompletableFuture<?>> futures = new ArrayList<>(REQUESTS);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			inFlight.acquire();
+			long sent = System.nanoTime();
+			HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+			futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, error) -> {
+						inFlight.release();
+						if (error != null || response.statusCode() != 200) {
+							latencies.error();
+						} else {
+							latencies.record(System.nanoTime() - sent);
+						}
+					}));
+		}
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		log.info(String.format("[load] %s: %d req, concurrency %d, %d ms, %.0f req/s, p50 %.1f ms, p99 %.1f ms, lỗi %d",
+				mode(), REQUESTS, CONCURRENCY, elapsedMillis, REQUESTS * 1000.0 / Math.max(1, elapsedMillis),
+				latencies.percentileMillis(0.50), latencies.percentileMillis(0.99), latencies.errors()));
+		assertThat(latencies.errors()).isLessThan(REQUESTS / 100);
+	}
+}
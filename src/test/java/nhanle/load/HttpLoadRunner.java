@@ -0,0 +1,199 @@
+package nhanle.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+/**
+ * Bộ chạy tải HTTP dùng JDK HttpClient (vòng kín: mỗi worker gửi request kế tiếp khi
+ * request trước xong). Trộn các kịch bản theo trọng số trên /api/products, /api/categories
+ * và các trang danh sách admin; in throughput và p50/p95/p99 theo từng kịch bản.
+ * Cùng --seed => cùng chuỗi request, để so sánh giữa các lần chạy.
+ *
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.profiles=datagen
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=nhanle.load.HttpLoadRunner \
+ *     -Dexec.args="--url=http://localhost:8092 --concurrency=64 --duration=60 --warmup=10 --out=target/load-report.json"
+ * </pre>
+ */
+public final class HttpLoadRunner {
+
+	private static final String[] KEYWORDS = { "laptop", "tai nghe", "samsung", "áo thun", "chính hãng", "sách", "nồi" };
+
+	record Scenario(String name, int weight, Function<Random, String> path) {}
+
+	static List<Scenario> defaultScenarios() {
+		return List.of(
+				new Scenario("api-products-page", 30, r -> "/api/products?size=20"),
+				new Scenario("api-products-keyword", 20, r -> "/api/products?size=20&keyword=" + keyword(r)),
+				new Scenario("api-categories", 10, r -> "/api/categories?withCounts=true"),
+				new Scenario("admin-products", 20, r -> "/admin/products?page=" + r.nextInt(50)),
+				new Scenario("admin-products-search", 10, r -> "/admin/products?q=" + keyword(r)),
+				new Scenario("admin-categories", 10, r -> "/admin/categories?page=" + r.nextInt(10)));
+	}
+
+	private final String baseUrl;
+	private final int concurrency;
+	private final Duration warmup;
+	private final Duration duration;
+	private final long seed;
+	private final List<Scenario> scenarios;
+	private final HttpClient client = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(10))
+			.followRedirects(HttpClient.Redirect.NEVER)
+			.build();
+
+	HttpLoadRunner(String baseUrl, int concurrency, Duration warmup, Duration duration, long seed, List<Scenario> scenarios) {
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		this.concurrency = concurrency;
+		this.warmup = warmup;
+		this.duration = duration;
+		this.seed = seed;
+		this.scenarios = scenarios;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (arg.startsWith("--") && eq > 2) {
+				options.put(arg.substring(2, eq), arg.substring(eq + 1));
+			}
+		}
+		HttpLoadRunner runner = new HttpLoadRunner(
+				options.getOrDefault("url", "http://localhost:8092"),
+				Integer.parseInt(options.getOrDefault("concurrency", "32")),
+				Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+				Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+				Long.parseLong(options.getOrDefault("seed", "1")),
+				defaultScenarios());
+		Report report = runner.run();
+		System.out.println(report.format());
+		if (options.containsKey("out")) {
+			Path out = Path.of(options.get("out"));
+			if (out.getParent() != null) Files.createDirectories(out.getParent());
+			Files.writeString(out, report.toJson());
+		}
+		if (report.total().errors() > report.total().count() / 100) {
+			System.exit(1);
+		}
+	}
+
+	Report run() throws InterruptedException {
+		int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+		Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+		scenarios.forEach(s -> recorders.put(s.name(), new LatencyRecorder()));
+
+		long measureFrom = System.nanoTime() + warmup.toNanos();
+		long deadline = measureFrom + duration.toNanos();
+		CountDownLatch finished = new CountDownLatch(concurrency);
+		for (int w = 0; w < concurrency; w++) {
+			Random random = new Random(seed * 31 + w);
+			Thread worker = new Thread(() -> {
+				try {
+					while (System.nanoTime() < deadline) {
+						Scenario scenario = pick(random, totalWeight);
+						long sent = System.nanoTime();
+						boolean ok = send(scenario.path().apply(random));
+						long elapsed = System.nanoTime() - sent;
+						if (sent < measureFrom) continue;
+						LatencyRecorder recorder = recorders.get(scenario.name());
+						if (ok) recorder.record(elapsed); else recorder.error();
+					}
+				} finally {
+					finished.countDown();
+				}
+			}, "load-" + w);
+			worker.start();
+		}
+		finished.await();
+		return new Report(concurrency, duration, recorders);
+	}
+
+	private Scenario pick(Random random, int totalWeight) {
+		int r = random.nextInt(totalWeight);
+		for (Scenario scenario : scenarios) {
+			r -= scenario.weight();
+			if (r < 0) return scenario;
+		}
+		return scenarios.get(scenarios.size() - 1);
+	}
+
+	private boolean send(String path) {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(Duration.ofSeconds(30))
+				.GET()
+				.build();
+		try {
+			HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+			return response.statusCode() < 400;
+		} catch (IOException e) {
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static String keyword(Random random) {
+		return URLEncoder.encode(KEYWORDS[random.nextInt(KEYWORDS.length)], StandardCharsets.UTF_8);
+	}
+
+	record Report(int concurrency, Duration duration, Map<String, LatencyRecorder> scenarios) {
+
+		LatencyRecorder total() {
+			LatencyRecorder all = new LatencyRecorder();
+			scenarios.values().forEach(all::merge);
+			return all;
+		}
+
+		String format() {
+			StringBuilder sb = new StringBuilder();
+			sb.append(String.format(Locale.ROOT, "Tải: %d worker, đo %d s%n", concurrency, duration.toSeconds()));
+			sb.append(String.format(Locale.ROOT, "%-24s %9s %7s %9s %9s %9s %9s%n",
+					"kịch bản", "request", "lỗi", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+			scenarios.forEach((name, r) -> sb.append(line(name, r)));
+			sb.append(line("TỔNG", total()));
+			return sb.toString();
+		}
+
+		private String line(String name, LatencyRecorder r) {
+			return String.format(Locale.ROOT, "%-24s %9d %7d %9.1f %9.1f %9.1f %9.1f%n", name, r.count(), r.errors(),
+					r.count() / (double) Math.max(1, duration.toSeconds()),
+					r.percentileMillis(0.50), r.percentileMillis(0.95), r.percentileMillis(0.99));
+		}
+
+		String toJson() {
+			StringBuilder sb = new StringBuilder("{\"concurrency\":").append(concurrency)
+					.append(",\"durationSeconds\":").append(duration.toSeconds()).append(",\"scenarios\":{");
+			Map<String, LatencyRecorder> all = new LinkedHashMap<>(scenarios);
+			all.put("total", total());
+			boolean first = true;
+			for (Map.Entry<String, LatencyRecorder> e : all.entrySet()) {
+				LatencyRecorder r = e.getValue();
+				if (!first) sb.append(',');
+				first = false;
+				sb.append(String.format(Locale.ROOT,
+						"\"%s\":{\"requests\":%d,\"errors\":%d,\"throughput\":%.2f,\"p50\":%.3f,\"p95\":%.3f,\"p99\":%.3f}",
+						e.getKey(), r.count(), r.errors(), r.count() / (double) Math.max(1, duration.toSeconds()),
+						r.percentileMillis(0.50), r.percentileMillis(0.95), r.percentileMillis(0.99)));
+			}
+			return sb.append("}}").toString();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package nhanle.load;
+
+import java.util.Arrays;
+
+// Lưu mọi mẫu độ trễ (nano giây) để tính phân vị chính xác; đủ nhỏ cho vài triệu request
+final class LatencyRecorder {
+
+	private long[] samples = new long[1024];
+	private int count;
+	private int errors;
+
+	synchronized void record(long nanos) {
+		if (count == samples.length) {
+			samples = Arrays.copyOf(samples, count * 2);
+		}
+		samples[count++] = nanos;
+	}
+
+	synchronized void error() {
+		errors++;
+	}
+
+	synchronized int count() {
+		return count;
+	}
+
+	synchronized int errors() {
+		return errors;
+	}
+
+	// Phân vị theo mili giây (nearest-rank); -1 nếu chưa có mẫu
+	synchronized double percentileMillis(double p) {
+		if (count == 0) return -1;
+		long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(p * count) - 1;
+		return sorted[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+	}
+
+	synchronized void merge(LatencyRecorder other) {
+		synchronized (other) {
+			for (int i = 0; i < other.count; i++) {
+				record(other.samples[i]);
+			}
+			errors += other.errors;
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package nhanle.load;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+// Mặc định: pool 200 platform thread của Tomcat
+@EnabledIfSystemProperty(named = "load", matches = "true")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.threads.virtual.enabled=false",
+		"app.upload-dir=target/test-uploads"
+})
+class PlatformThreadLoadTests extends AbstractThroughputLoadTest {
+
+	@Override
+	protected String mode() {
+		return "platform";
+	}
+}
@@ -0,0 +1,22 @@
+package nhanle.load;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+
+// Mỗi request một virtual thread, connection JDBC đi qua ConnectionLimitingDataSource
+@EnabledIfSystemProperty(named = "load", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"spring.threads.virtual.enabled=true",
+		"app.upload-dir=target/test-uploads"
+})
+class VirtualThreadLoadTests extends AbstractThroughputLoadTest {
+
+	@Override
+	protected String mode() {
+		return "virtual";
+	}
+}
@@ -0,0 +1,73 @@
+package nhanle.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Phát hiện N+1: mỗi request danh sách chỉ được phép chạy một số câu SQL cố định
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"app.upload-dir=target/test-uploads"
+})
+@AutoConfigureMockMvc
+class ProductQueryCountTests {
+
+	// 1 câu SELECT ... JOIN categories, không phụ thuộc số dòng
+	private static final long MAX_STATEMENTS = 1;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void productListLoadsCategoriesInSameQuery() throws Exception {
+		mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+	}
+
+	@Test
+	void productListByCategoryLoadsCategoriesInSameQuery() throws Exception {
+		mockMvc.perform(get("/api/products").param("categoryId", "1").param("keyword", "a"))
+				.andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+	}
+
+	@Test
+	void keysetPageLoadsCategoriesInSameQuery() throws Exception {
+		mockMvc.perform(get("/api/products").param("size", "5").param("sort", "productName"))
+				.andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+	}
+
+	// Header do SqlBudgetFilter ghi, đếm qua proxy JDBC (không phụ thuộc thống kê Hibernate)
+	@Test
+	void responseReportsStatementCount() throws Exception {
+		String count = mockMvc.perform(get("/api/products"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists("X-SQL-Time-Ms"))
+				.andReturn().getResponse().getHeader("X-SQL-Count");
+		assertThat(Long.parseLong(count)).isBetween(1L, MAX_STATEMENTS);
+	}
+}
@@ -0,0 +1,90 @@
+package nhanle.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+// Các dạng truy vấn chính phải dùng index của migration V2 (chặn việc lỡ xoá/đổi index)
+@SpringBootTest(properties = "app.upload-dir=target/test-uploads")
+class QueryPlanTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void productsByStatusSortedByNameUseStatusIndex() {
+		assertThat(h2Plan("SELECT * FROM products WHERE status = TRUE ORDER BY product_name, product_id"))
+				.containsIgnoringCase("idx_products_status_name");
+	}
+
+	// H2 chọn index tự sinh của khoá ngoại (cùng cột đầu category_id) thay vì index ghép;
+	// việc dùng idx_products_category_status_name chỉ kiểm tra trên PostgreSQL (postgresPlansUseIndexes)
+	@Test
+	void productsByCategoryAndStatusUseCategoryIndex() {
+		assertThat(h2Plan("SELECT * FROM products WHERE category_id = 1 AND status = TRUE ORDER BY product_name"))
+				.containsPattern("/\\* PUBLIC\\.\\w+: CATEGORY_ID = ")
+				.doesNotContainIgnoringCase("tableScan");
+	}
+
+	@Test
+	void latestCategoriesUseCreatedIndex() {
+		assertThat(h2Plan("SELECT * FROM categories ORDER BY created_at DESC FETCH FIRST 10 ROWS ONLY"))
+				.containsIgnoringCase("idx_categories_created");
+	}
+
+	@Test
+	void caseInsensitiveNameLookupUsesGeneratedColumnIndex() {
+		assertThat(h2Plan("SELECT COUNT(*) FROM categories WHERE category_name_lower = LOWER('Sách')"))
+				.containsIgnoringCase("ux_categories_name_lower");
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT category_name_lower FROM categories WHERE category_name = 'Điện tử'", String.class))
+				.isEqualTo("điện tử");
+	}
+
+	// PostgreSQL thật: PLAN_TEST_POSTGRES_URL=jdbc:postgresql://localhost/plan_test (+ _USER/_PASSWORD), DB trống
+	@Test
+	@EnabledIfEnvironmentVariable(named = "PLAN_TEST_POSTGRES_URL", matches = ".+")
+	void postgresPlansUseIndexes() {
+		// Một connection duy nhất: SET enable_seqscan chỉ có hiệu lực trong session
+		SingleConnectionDataSource dataSource = new SingleConnectionDataSource(System.getenv("PLAN_TEST_POSTGRES_URL"),
+				System.getenv().getOrDefault("PLAN_TEST_POSTGRES_USER", "postgres"),
+				System.getenv().getOrDefault("PLAN_TEST_POSTGRES_PASSWORD", ""), true);
+		try {
+			Flyway flyway = Flyway.configure().dataSource(dataSource)
+					.locations("classpath:db/migration/postgresql").cleanDisabled(false).load();
+			flyway.clean();
+			flyway.migrate();
+
+			JdbcTemplate postgres = new JdbcTemplate(dataSource);
+			// Bảng trống thì planner luôn chọn seq scan; tắt đi để kiểm tra index có dùng được hay không
+			postgres.execute("SET enable_seqscan = off");
+			assertThat(pgPlan(postgres, "SELECT * FROM products WHERE status = TRUE ORDER BY product_name, product_id"))
+					.contains("idx_products_status_name");
+			assertThat(pgPlan(postgres, "SELECT * FROM products WHERE category_id = 1 AND status = TRUE ORDER BY product_name"))
+					.contains("idx_products_category_status_name");
+			assertThat(pgPlan(postgres, "SELECT * FROM categories ORDER BY created_at DESC LIMIT 10"))
+					.contains("idx_categories_created");
+			assertThat(pgPlan(postgres, "SELECT COUNT(*) FROM categories WHERE category_name_lower = LOWER('Sách')"))
+					.contains("ux_categories_name_lower");
+		} finally {
+			dataSource.destroy();
+		}
+	}
+
+	private String h2Plan(String sql) {
+		return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+	}
+
+	private static String pgPlan(JdbcTemplate jdbc, String sql) {
+		List<String> lines = jdbc.queryForList("EXPLAIN " + sql, String.class);
+		return String.join("\n", lines);
+	}
+}
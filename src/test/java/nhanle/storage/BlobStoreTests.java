@@ -0,0 +1,117 @@
+package nhanle.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+// Cùng một bộ kiểm tra cho các backend không cần dịch vụ ngoài
+class BlobStoreTests {
+
+	@TempDir
+	Path tmp;
+
+	@Test
+	void localStore() throws Exception {
+		verify(new LocalBlobStore(tmp.resolve("local")));
+	}
+
+	@Test
+	void shardedStore() throws Exception {
+		verify(new ShardedBlobStore(List.of(
+				new LocalBlobStore(tmp.resolve("a")),
+				new LocalBlobStore(tmp.resolve("b")),
+				new LocalBlobStore(tmp.resolve("c")))));
+	}
+
+	@Test
+	void inMemoryStore() throws Exception {
+		verify(new InMemoryBlobStore());
+	}
+
+	@Test
+	void rejectsKeysOutsideRoot() throws Exception {
+		LocalBlobStore store = new LocalBlobStore(tmp.resolve("guard"));
+		assertThatThrownBy(() -> store.stat("../secret.txt")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> store.stat("/etc/passwd")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> store.stat(".tmp/x")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// File tạm nằm trong kho (cùng filesystem) nên putFile là rename nguyên tử, không để lại rác
+	@Test
+	void tempFilesAreStagedInsideStore() throws Exception {
+		LocalBlobStore store = new LocalBlobStore(tmp.resolve("staged"));
+		Path staged = store.createTempFile(".jpg");
+		assertThat(staged).startsWith(store.getRoot());
+		Files.writeString(staged, "blob");
+
+		store.putFile("cas/ab/cd/blob.jpg", staged, "image/jpeg");
+		assertThat(staged).doesNotExist();
+		assertThat(store.list("")).containsExactly("cas/ab/cd/blob.jpg");
+	}
+
+	// CopyObject với REPLACE xoá metadata: touch phải ghi lại Content-Type và metadata đọc từ HEAD
+	@Test
+	void s3TouchKeepsContentTypeAndMetadata() throws Exception {
+		S3Client s3 = mock(S3Client.class);
+		when(s3.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+				.contentType("image/jpeg").metadata(Map.of("origin", "upload")).build());
+
+		new S3BlobStore(s3, "bucket", "img").touch("cas/ab/cd/one.jpg");
+
+		ArgumentCaptor<CopyObjectRequest> copy = ArgumentCaptor.forClass(CopyObjectRequest.class);
+		org.mockito.Mockito.verify(s3).copyObject(copy.capture());
+		assertThat(copy.getValue().destinationKey()).isEqualTo("img/cas/ab/cd/one.jpg");
+		assertThat(copy.getValue().contentType()).isEqualTo("image/jpeg");
+		assertThat(copy.getValue().metadata()).containsEntry("origin", "upload");
+	}
+
+	@Test
+	void s3DeleteReportsMissingKey() throws Exception {
+		S3Client s3 = mock(S3Client.class);
+		when(s3.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+
+		assertThat(new S3BlobStore(s3, "bucket", "").delete("cas/ab/cd/gone.jpg")).isFalse();
+		org.mockito.Mockito.verify(s3, never()).deleteObject(any(DeleteObjectRequest.class));
+	}
+
+	private void verify(BlobStore store) throws Exception {
+		byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+		store.put("cas/ab/cd/one.txt", new ByteArrayInputStream(data), data.length, "text/plain");
+
+		Path source = Files.writeString(tmp.resolve("source-" + System.nanoTime()), "world");
+		store.putFile("thumb/two.jpg", source, "image/jpeg");
+
+		assertThat(store.exists("cas/ab/cd/one.txt")).isTrue();
+		assertThat(store.stat("cas/ab/cd/one.txt")).hasValueSatisfying(info -> assertThat(info.size()).isEqualTo(5));
+		try (InputStream in = store.open("thumb/two.jpg")) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("world");
+		}
+		assertThat(store.list("cas/")).containsExactly("cas/ab/cd/one.txt");
+
+		assertThat(store.delete("cas/ab/cd/one.txt")).isTrue();
+		assertThat(store.stat("cas/ab/cd/one.txt")).isEmpty();
+		assertThat(store.list("cas/")).isEmpty();
+	}
+}
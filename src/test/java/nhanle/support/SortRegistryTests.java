@@ -0,0 +1,32 @@
+package nhanle.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class SortRegistryTests {
+
+	@Test
+	void appendsPrimaryKeyInSameDirection() {
+		Sort sort = SortRegistry.PRODUCTS.resolve("price", "desc");
+		assertThat(sort).containsExactly(Sort.Order.desc("price"), Sort.Order.desc("productId"));
+	}
+
+	@Test
+	void doesNotDuplicatePrimaryKey() {
+		assertThat(SortRegistry.CATEGORIES.resolve("categoryId", "asc")).containsExactly(Sort.Order.asc("categoryId"));
+	}
+
+	@Test
+	void rejectsUnindexedProperty() {
+		assertThatIllegalArgumentException().isThrownBy(() -> SortRegistry.PRODUCTS.resolve("description", "asc"));
+	}
+
+	@Test
+	void adminFallsBackToDefaultKey() {
+		Sort sort = SortRegistry.CATEGORIES.resolveOrDefault("updatedAt", "categoryName", "asc");
+		assertThat(SortRegistry.primaryKey(sort)).isEqualTo("categoryName");
+	}
+}